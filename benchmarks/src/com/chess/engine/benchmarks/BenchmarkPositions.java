@@ -0,0 +1,75 @@
+package com.chess.engine.benchmarks;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.FenUtilities;
+import com.chess.engine.board.Move;
+import com.chess.engine.pieces.Piece;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/*
+ * The position corpus every benchmark runs over: the opening, busy middlegames
+ * with castling, en passant and promotions available, and a sparse endgame.
+ * Each position is a separate JMH parameter so results can be compared per
+ * position across commits.
+ */
+@State(Scope.Benchmark)
+public class BenchmarkPositions {
+
+    @Param({"start", "kiwipete", "endgame", "promotions", "middlegame", "italian"})
+    public String position;
+
+    public Board board;
+    public List<Piece> pieces;
+    public List<Move> legalMoves;
+    public int[][] moveCoordinates;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.board = FenUtilities.createGameFromFEN(fen(this.position));
+        this.pieces = new ArrayList<>();
+        this.pieces.addAll(this.board.getWhitePieces());
+        this.pieces.addAll(this.board.getBlackPieces());
+        this.legalMoves = new ArrayList<>();
+        for (final Move move : this.board.currentPlayer().getLegalMoves()) {
+            if (this.board.currentPlayer().makeMove(move).getMoveStatus().isDone()) {
+                this.legalMoves.add(move);
+            }
+        }
+        this.moveCoordinates = new int[this.legalMoves.size()][];
+        for (int i = 0; i < this.legalMoves.size(); i++) {
+            final Move move = this.legalMoves.get(i);
+            this.moveCoordinates[i] = new int[]{move.getCurrentCoordinate(), move.getDestinationCoordinate()};
+        }
+    }
+
+    public Collection<Piece> activePieces() {
+        return this.board.currentPlayer().getActivePieces();
+    }
+
+    public static String fen(final String position) {
+        switch (position) {
+            case "start":
+                return "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1";
+            case "kiwipete":
+                return "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1";
+            case "endgame":
+                return "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1";
+            case "promotions":
+                return "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1";
+            case "middlegame":
+                return "r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10";
+            case "italian":
+                return "r1bqk2r/pppp1ppp/2n2n2/2b1p3/2B1P3/3P1N2/PPP2PPP/RNBQK2R w KQkq - 4 5";
+            default:
+                throw new RuntimeException("Unknown benchmark position " + position);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.chess.engine.benchmarks;
+
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Runs every benchmark in throughput mode with the GC profiler attached, so each
+ * result carries ops/s and bytes allocated per op, and writes them as JSON.
+ * Keep the settings fixed so files from different commits stay comparable.
+ * Usage: BenchmarkRunner [include regex] [result file]
+ */
+public class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+        throw new RuntimeException("No instantiation");
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        final String include = args.length > 0 ? args[0] : BenchmarkRunner.class.getPackage().getName() + ".*Benchmark";
+        final String resultFile = args.length > 1 ? args[1] : "benchmarks/results.json";
+        final Options options = new OptionsBuilder()
+                .include(include)
+                .mode(Mode.Throughput)
+                .timeUnit(TimeUnit.SECONDS)
+                .warmupIterations(5)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(1))
+                .forks(2)
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(resultFile)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,34 @@
+package com.chess.engine.benchmarks;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.pieces.Piece;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.infra.Blackhole;
+
+/*
+ * Board(Builder) on its own and followed by the first legal move query, which
+ * is where the lazily generated move lists are paid for.
+ */
+public class BoardBenchmark {
+
+    @Benchmark
+    public Board buildBoard(final BenchmarkPositions positions) {
+        return build(positions);
+    }
+
+    @Benchmark
+    public void buildBoardAndGenerateMoves(final BenchmarkPositions positions, final Blackhole blackhole) {
+        final Board board = build(positions);
+        blackhole.consume(board.currentPlayer().getLegalMoves());
+    }
+
+    private static Board build(final BenchmarkPositions positions) {
+        final Board.Builder builder = new Board.Builder();
+        for (final Piece piece : positions.pieces) {
+            builder.setPiece(piece);
+        }
+        builder.setEnPassantPawn(positions.board.getEnPassantPawn());
+        builder.setMoveMaker(positions.board.currentPlayer().getAlliance());
+        return builder.build();
+    }
+}
@@ -0,0 +1,33 @@
+package com.chess.engine.benchmarks;
+
+import com.chess.engine.board.Move;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.infra.Blackhole;
+
+/*
+ * Applying every legal move of a position: the raw Move.execute(), the checked
+ * Player.makeMove, and looking moves up by coordinates through MoveFactory.
+ */
+public class MoveExecuteBenchmark {
+
+    @Benchmark
+    public void execute(final BenchmarkPositions positions, final Blackhole blackhole) {
+        for (final Move move : positions.legalMoves) {
+            blackhole.consume(move.execute());
+        }
+    }
+
+    @Benchmark
+    public void makeMove(final BenchmarkPositions positions, final Blackhole blackhole) {
+        for (final Move move : positions.legalMoves) {
+            blackhole.consume(positions.board.currentPlayer().makeMove(move));
+        }
+    }
+
+    @Benchmark
+    public void createMove(final BenchmarkPositions positions, final Blackhole blackhole) {
+        for (final int[] coordinates : positions.moveCoordinates) {
+            blackhole.consume(Move.MoveFactory.createMove(positions.board, coordinates[0], coordinates[1]));
+        }
+    }
+}
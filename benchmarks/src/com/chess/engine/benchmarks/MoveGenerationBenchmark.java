@@ -0,0 +1,18 @@
+package com.chess.engine.benchmarks;
+
+import com.chess.engine.pieces.Piece;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.infra.Blackhole;
+
+/*
+ * Piece.calculateLegalMoves for every piece of the side to move.
+ */
+public class MoveGenerationBenchmark {
+
+    @Benchmark
+    public void calculateLegalMoves(final BenchmarkPositions positions, final Blackhole blackhole) {
+        for (final Piece piece : positions.activePieces()) {
+            blackhole.consume(piece.calculateLegalMoves(positions.board));
+        }
+    }
+}
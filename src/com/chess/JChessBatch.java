@@ -0,0 +1,92 @@
+package com.chess;
+
+import com.chess.engine.analysis.BatchAnalyzer;
+import com.chess.engine.analysis.PositionSources;
+import com.chess.engine.pgn.PgnReader;
+import com.chess.engine.search.SearchLimits;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/*
+ * Headless batch analysis, without the Swing table. Usage:
+ *
+ *   JChessBatch <corpus.pgn|corpus.epd> [-depth N] [-time ms] [-threads N] [-hash MB] [-queue N] [-output file]
+ *
+ * A .pgn corpus is analysed position by position through every game; anything
+ * else is read as one EPD or FEN position per line. Results go to standard
+ * output unless an output file is given.
+ */
+public class JChessBatch {
+
+    private JChessBatch() {
+        throw new RuntimeException("No instantiation");
+    }
+
+    public static void main(final String[] args) throws IOException {
+        if (args.length < 1 || args.length % 2 == 0) {
+            throw new RuntimeException("Usage: JChessBatch <corpus.pgn|corpus.epd> [-depth N] [-time ms] " +
+                    "[-threads N] [-hash MB] [-queue N] [-output file]");
+        }
+        final Path corpus = Paths.get(args[0]);
+        final SearchLimits.Builder limits = new SearchLimits.Builder();
+        final BatchAnalyzer.Builder analyzer = new BatchAnalyzer.Builder();
+        boolean hasDepth = false;
+        boolean hasTime = false;
+        Path outputPath = null;
+        for (int i = 1; i < args.length; i += 2) {
+            final String value = args[i + 1];
+            switch (args[i]) {
+                case "-depth":
+                    limits.setMaxDepth(Integer.parseInt(value));
+                    hasDepth = true;
+                    break;
+                case "-time":
+                    limits.setTimeMillis(Long.parseLong(value));
+                    hasTime = true;
+                    break;
+                case "-threads":
+                    analyzer.setThreadCount(Integer.parseInt(value));
+                    break;
+                case "-hash":
+                    analyzer.setHashMegabytes(Integer.parseInt(value));
+                    break;
+                case "-queue":
+                    analyzer.setQueueCapacity(Integer.parseInt(value));
+                    break;
+                case "-output":
+                    outputPath = Paths.get(value);
+                    break;
+                default:
+                    throw new RuntimeException("Unknown option " + args[i]);
+            }
+        }
+        if (hasDepth || hasTime) {
+            analyzer.setLimits(limits.build());
+        }
+
+        final BatchAnalyzer batchAnalyzer = analyzer.build();
+        final long start = System.currentTimeMillis();
+        final long analysed;
+        try (final Writer output = outputPath != null ? Files.newBufferedWriter(outputPath, StandardCharsets.UTF_8) :
+                new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8))) {
+            if (corpus.getFileName().toString().toLowerCase().endsWith(".pgn")) {
+                try (final PgnReader reader = new PgnReader(corpus)) {
+                    analysed = batchAnalyzer.analyze(PositionSources.fromPgn(reader), output);
+                }
+            } else {
+                try (final BufferedReader reader = Files.newBufferedReader(corpus, StandardCharsets.UTF_8)) {
+                    analysed = batchAnalyzer.analyze(PositionSources.fromEpd(reader), output);
+                }
+            }
+        }
+        System.err.println("analysed " + analysed + " positions in " + (System.currentTimeMillis() - start) + " ms");
+    }
+}
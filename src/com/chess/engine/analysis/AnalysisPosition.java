@@ -0,0 +1,56 @@
+package com.chess.engine.analysis;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+
+/*
+ * One position queued for batch analysis, with a label naming where it came
+ * from and, for positions taken from a game, the move actually played there.
+ * A record that could not be parsed becomes a failed position holding only
+ * its label and the error.
+ */
+public class AnalysisPosition {
+    private final String label;
+    private final Board board;
+    private final Move playedMove;
+    private final String error;
+
+    private AnalysisPosition(final String label, final Board board, final Move playedMove, final String error) {
+        this.label = label;
+        this.board = board;
+        this.playedMove = playedMove;
+        this.error = error;
+    }
+
+    public AnalysisPosition(final String label, final Board board, final Move playedMove) {
+        this(label, board, playedMove, null);
+    }
+
+    public AnalysisPosition(final String label, final Board board) {
+        this(label, board, Move.NullMove);
+    }
+
+    public static AnalysisPosition failed(final String label, final String error) {
+        return new AnalysisPosition(label, null, Move.NullMove, error);
+    }
+
+    public String getLabel() {
+        return this.label;
+    }
+
+    public Board getBoard() {
+        return this.board;
+    }
+
+    public Move getPlayedMove() {
+        return this.playedMove;
+    }
+
+    public boolean isFailed() {
+        return this.error != null;
+    }
+
+    public String getError() {
+        return this.error;
+    }
+}
@@ -0,0 +1,215 @@
+package com.chess.engine.analysis;
+
+import com.chess.engine.board.Move;
+import com.chess.engine.search.AlphaBeta;
+import com.chess.engine.search.BoardEvaluator;
+import com.chess.engine.search.PieceSquareEvaluator;
+import com.chess.engine.search.SearchLimits;
+import com.chess.engine.search.SearchResult;
+import com.chess.engine.search.TranspositionTable;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/*
+ * Searches a stream of positions on a fixed pool of worker threads and writes
+ * one tab-separated line per position, in input order, as soon as it and every
+ * position before it are done. At most queueCapacity positions are in flight:
+ * once that many are waiting the reading thread blocks on the oldest result
+ * instead of pulling more input, so memory stays flat however large the
+ * corpus is. A run keeps one searcher and transposition table per worker and
+ * drops them when it returns. Both are cleared before every position, so a
+ * position's line does not depend on what the worker searched before it.
+ *
+ * Columns: label, FEN, played move, best move, score, depth, nodes, PV. A
+ * record the source could not parse is not searched, and a search that throws
+ * writes nothing but its label, "error" and the message, so one bad record
+ * does not end the run.
+ */
+public class BatchAnalyzer {
+
+    private final SearchLimits limits;
+    private final BoardEvaluator evaluator;
+    private final int threadCount;
+    private final int queueCapacity;
+    private final int hashMegabytes;
+
+    private BatchAnalyzer(final Builder builder) {
+        this.limits = builder.limits;
+        this.evaluator = builder.evaluator;
+        this.threadCount = builder.threadCount;
+        this.queueCapacity = builder.queueCapacity;
+        this.hashMegabytes = builder.hashMegabytes;
+    }
+
+    /* analyses every position and returns how many were written */
+    public long analyze(final Iterator<AnalysisPosition> positions, final Writer output) throws IOException {
+        final ExecutorService workers = Executors.newFixedThreadPool(this.threadCount, runnable -> {
+            final Thread thread = new Thread(runnable, "analysis-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        final Queue<AlphaBeta> idleSearchers = new ConcurrentLinkedQueue<>();
+        final ArrayDeque<PendingLine> pending = new ArrayDeque<>(this.queueCapacity);
+        long written = 0;
+        try {
+            while (positions.hasNext()) {
+                final AnalysisPosition position = positions.next();
+                pending.addLast(new PendingLine(position.getLabel(), position.isFailed() ?
+                        CompletableFuture.completedFuture(errorLine(position.getLabel(), position.getError())) :
+                        workers.submit(() -> analyzePosition(idleSearchers, position))));
+                final long writtenBefore = written;
+                if (pending.size() >= this.queueCapacity) {
+                    written += writeResult(pending.removeFirst(), output);
+                }
+                while (!pending.isEmpty() && pending.peekFirst().line.isDone()) {
+                    written += writeResult(pending.removeFirst(), output);
+                }
+                if (written != writtenBefore) {
+                    output.flush();
+                }
+            }
+            while (!pending.isEmpty()) {
+                written += writeResult(pending.removeFirst(), output);
+            }
+            output.flush();
+        } finally {
+            workers.shutdownNow();
+        }
+        return written;
+    }
+
+    /* no more searchers than workers are ever made, as each task hands its searcher back when done */
+    private String analyzePosition(final Queue<AlphaBeta> idleSearchers, final AnalysisPosition position) {
+        final AlphaBeta idleSearcher = idleSearchers.poll();
+        final AlphaBeta searcher = idleSearcher != null ? idleSearcher :
+                new AlphaBeta(this.evaluator, new TranspositionTable(this.hashMegabytes), this.limits);
+        final SearchResult result;
+        try {
+            searcher.clear();
+            result = searcher.search(position.getBoard());
+        } finally {
+            idleSearchers.add(searcher);
+        }
+        final StringBuilder line = new StringBuilder(160);
+        line.append(position.getLabel()).append('\t')
+                .append(position.getBoard().toFen()).append('\t')
+                .append(moveText(position.getPlayedMove())).append('\t')
+                .append(moveText(result.getBestMove())).append('\t')
+                .append(result.getScore()).append('\t')
+                .append(result.getDepth()).append('\t')
+                .append(result.getNodes()).append('\t');
+        for (int i = 0; i < result.getPrincipalVariation().size(); i++) {
+            line.append(i == 0 ? "" : " ").append(moveText(result.getPrincipalVariation().get(i)));
+        }
+        return line.append('\n').toString();
+    }
+
+    private static String errorLine(final String label, final String error) {
+        return label + "\terror\t" + error.replace('\t', ' ').replace('\n', ' ') + '\n';
+    }
+
+    private static int writeResult(final PendingLine pending, final Writer output) throws IOException {
+        String line;
+        try {
+            line = pending.line.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Batch analysis interrupted", e);
+        } catch (final ExecutionException e) {
+            final Throwable cause = e.getCause();
+            line = errorLine(pending.label, cause.getMessage() != null ? cause.getMessage() : cause.toString());
+        }
+        output.write(line);
+        return 1;
+    }
+
+    /* coordinate notation, "-" when there is no move */
+    private static String moveText(final Move move) {
+        if (move == null || move == Move.NullMove) {
+            return "-";
+        }
+        final StringBuilder text = new StringBuilder(5);
+        appendSquare(text, move.getCurrentCoordinate());
+        appendSquare(text, move.getDestinationCoordinate());
+        if (move.getPromotionType() != null) {
+            text.append(Character.toLowerCase(move.getPromotionType().toString().charAt(0)));
+        }
+        return text.toString();
+    }
+
+    private static void appendSquare(final StringBuilder text, final int square) {
+        text.append((char) ('a' + square % 8)).append((char) ('8' - square / 8));
+    }
+
+    /* a line still being produced, with the label to report if its search fails */
+    private static final class PendingLine {
+        final String label;
+        final Future<String> line;
+
+        PendingLine(final String label, final Future<String> line) {
+            this.label = label;
+            this.line = line;
+        }
+    }
+
+    public static class Builder {
+        SearchLimits limits;
+        BoardEvaluator evaluator;
+        int threadCount;
+        int queueCapacity;
+        int hashMegabytes;
+
+        public Builder() {
+            this.limits = SearchLimits.depth(6);
+            this.evaluator = new PieceSquareEvaluator();
+            this.threadCount = Runtime.getRuntime().availableProcessors();
+            this.queueCapacity = 0;
+            this.hashMegabytes = 16;
+        }
+
+        public Builder setLimits(final SearchLimits limits) {
+            this.limits = limits;
+            return this;
+        }
+
+        public Builder setEvaluator(final BoardEvaluator evaluator) {
+            this.evaluator = evaluator;
+            return this;
+        }
+
+        public Builder setThreadCount(final int threadCount) {
+            this.threadCount = threadCount;
+            return this;
+        }
+
+        public Builder setQueueCapacity(final int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+            return this;
+        }
+
+        public Builder setHashMegabytes(final int hashMegabytes) {
+            this.hashMegabytes = hashMegabytes;
+            return this;
+        }
+
+        public BatchAnalyzer build() {
+            if (this.threadCount < 1) {
+                throw new RuntimeException("Batch analysis needs at least one thread, got " + this.threadCount);
+            }
+            if (this.queueCapacity < 1) {
+                this.queueCapacity = this.threadCount * 4;
+            }
+            return new BatchAnalyzer(this);
+        }
+    }
+}
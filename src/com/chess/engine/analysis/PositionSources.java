@@ -0,0 +1,150 @@
+package com.chess.engine.analysis;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.FenUtilities;
+import com.chess.engine.board.Move;
+import com.chess.engine.pgn.PgnGame;
+import com.chess.engine.pgn.PgnReader;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/*
+ * Lazy iterators over the positions of a corpus, pulling input only as the
+ * analysis asks for the next position: every position of every PGN game before
+ * each move is played, or one position per line of an EPD or FEN file. A game
+ * or line that cannot be parsed yields one failed position in its place.
+ */
+public class PositionSources {
+
+    private PositionSources() {
+        throw new RuntimeException("No instantiation");
+    }
+
+    public static Iterator<AnalysisPosition> fromPgn(final PgnReader reader) {
+        return new Iterator<AnalysisPosition>() {
+            private List<Move> moves = List.of();
+            private int ply = 0;
+            private int gameNumber = 0;
+            private String error = null;
+
+            @Override
+            public boolean hasNext() {
+                while (this.error == null && this.ply >= this.moves.size()) {
+                    if (!reader.hasNext()) {
+                        return false;
+                    }
+                    final PgnGame game = reader.next();
+                    this.moves = game.getMoves();
+                    this.ply = 0;
+                    this.gameNumber++;
+                    this.error = game.getError();
+                }
+                return true;
+            }
+
+            @Override
+            public AnalysisPosition next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                if (this.error != null) {
+                    final String gameError = this.error;
+                    this.error = null;
+                    return AnalysisPosition.failed("game " + this.gameNumber, gameError);
+                }
+                final Move move = this.moves.get(this.ply++);
+                return new AnalysisPosition("game " + this.gameNumber + " ply " + this.ply, move.getBoard(), move);
+            }
+        };
+    }
+
+    /* EPD operations after the four position fields are ignored except for "id", which becomes the label */
+    public static Iterator<AnalysisPosition> fromEpd(final BufferedReader reader) {
+        return new Iterator<AnalysisPosition>() {
+            private String line = null;
+            private int lineNumber = 0;
+
+            @Override
+            public boolean hasNext() {
+                try {
+                    while (this.line == null) {
+                        final String nextLine = reader.readLine();
+                        if (nextLine == null) {
+                            return false;
+                        }
+                        this.lineNumber++;
+                        if (!nextLine.isBlank() && !nextLine.startsWith("#")) {
+                            this.line = nextLine;
+                        }
+                    }
+                    return true;
+                } catch (final IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+
+            @Override
+            public AnalysisPosition next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                final String epd = this.line;
+                this.line = null;
+                final int positionEnd = positionEnd(epd);
+                final String id = epdId(epd, positionEnd);
+                final String label = id != null ? id : "line " + this.lineNumber;
+                final Board board;
+                try {
+                    board = FenUtilities.parseFen(epd, 0, positionEnd);
+                } catch (final RuntimeException e) {
+                    return AnalysisPosition.failed(label, e.getMessage() != null ? e.getMessage() : e.toString());
+                }
+                return new AnalysisPosition(label, board);
+            }
+        };
+    }
+
+    /* end of the four position fields, extended over the two move clocks when the line is a full FEN */
+    private static int positionEnd(final String epd) {
+        int end = 0;
+        for (int field = 0; field < 6; field++) {
+            int start = end;
+            while (start < epd.length() && epd.charAt(start) == ' ') {
+                start++;
+            }
+            int fieldEnd = start;
+            while (fieldEnd < epd.length() && epd.charAt(fieldEnd) != ' ') {
+                fieldEnd++;
+            }
+            if (field >= 4 && (fieldEnd == start || !isNumber(epd, start, fieldEnd))) {
+                break;
+            }
+            end = fieldEnd;
+        }
+        return end;
+    }
+
+    private static boolean isNumber(final String text, final int start, final int end) {
+        for (int i = start; i < end; i++) {
+            if (!Character.isDigit(text.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String epdId(final String epd, final int operationsStart) {
+        final int id = epd.indexOf(" id ", operationsStart - 1);
+        if (id < 0) {
+            return null;
+        }
+        final int start = epd.indexOf('"', id);
+        final int end = start < 0 ? -1 : epd.indexOf('"', start + 1);
+        return end < 0 ? null : epd.substring(start + 1, end);
+    }
+}
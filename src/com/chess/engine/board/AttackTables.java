@@ -0,0 +1,103 @@
+package com.chess.engine.board;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.pieces.Piece;
+
+/*
+ * Per-square attack sets for the pieces whose reach does not depend on
+ * occupancy, built once when the class loads, plus reverse attack queries
+ * that combine them with the sliding attacks.
+ */
+public class AttackTables {
+
+    private static final int[][] KnightSteps = {{-2, -1}, {-2, 1}, {-1, -2}, {-1, 2}, {1, -2}, {1, 2}, {2, -1}, {2, 1}};
+    private static final int[][] KingSteps = {{-1, -1}, {-1, 0}, {-1, 1}, {0, -1}, {0, 1}, {1, -1}, {1, 0}, {1, 1}};
+
+    public static final long[] KnightAttacks = initStepAttacks(KnightSteps);
+    public static final long[] KingAttacks = initStepAttacks(KingSteps);
+    public static final long[][] PawnAttacks = {initPawnAttacks(Alliance.White), initPawnAttacks(Alliance.Black)};
+
+    private static final long[][] Between = new long[64][64];
+    private static final long[][] Line = new long[64][64];
+
+    static {
+        for (int first = 0; first < 64; first++) {
+            for (int second = 0; second < 64; second++) {
+                if (first == second) {
+                    continue;
+                }
+                final long ends = BitBoard.squareBit(first) | BitBoard.squareBit(second);
+                if (BitBoard.isSet(SlidingAttacks.rookAttacks(first, BitBoard.Empty), second)) {
+                    Between[first][second] = SlidingAttacks.rookAttacks(first, BitBoard.squareBit(second)) &
+                            SlidingAttacks.rookAttacks(second, BitBoard.squareBit(first));
+                    Line[first][second] = (SlidingAttacks.rookAttacks(first, BitBoard.Empty) &
+                            SlidingAttacks.rookAttacks(second, BitBoard.Empty)) | ends;
+                } else if (BitBoard.isSet(SlidingAttacks.bishopAttacks(first, BitBoard.Empty), second)) {
+                    Between[first][second] = SlidingAttacks.bishopAttacks(first, BitBoard.squareBit(second)) &
+                            SlidingAttacks.bishopAttacks(second, BitBoard.squareBit(first));
+                    Line[first][second] = (SlidingAttacks.bishopAttacks(first, BitBoard.Empty) &
+                            SlidingAttacks.bishopAttacks(second, BitBoard.Empty)) | ends;
+                }
+            }
+        }
+    }
+
+    private AttackTables() {
+        throw new RuntimeException("No instantiation");
+    }
+
+    public static long pawnAttacks(final Alliance alliance, final int square) {
+        return PawnAttacks[alliance.ordinal()][square];
+    }
+
+    /* squares strictly between two squares on a shared rank, file or diagonal, empty otherwise */
+    public static long between(final int first, final int second) {
+        return Between[first][second];
+    }
+
+    /* the whole rank, file or diagonal through both squares, empty when they are not aligned */
+    public static long line(final int first, final int second) {
+        return Line[first][second];
+    }
+
+    public static boolean isSquareAttacked(final int square, final Alliance attacker, final long[] pieceBitBoards, final long occupancy) {
+        return attackersTo(square, attacker, pieceBitBoards, occupancy) != BitBoard.Empty;
+    }
+
+    public static long attackersTo(final int square, final Alliance attacker, final long[] pieceBitBoards, final long occupancy) {
+        final Alliance defender = attacker.isWhite() ? Alliance.Black : Alliance.White;
+        final long queens = pieceBitBoards[BitBoard.pieceIndex(attacker, Piece.PieceType.Queen)];
+        return (pawnAttacks(defender, square) & pieceBitBoards[BitBoard.pieceIndex(attacker, Piece.PieceType.Pawn)]) |
+                (KnightAttacks[square] & pieceBitBoards[BitBoard.pieceIndex(attacker, Piece.PieceType.Knight)]) |
+                (KingAttacks[square] & pieceBitBoards[BitBoard.pieceIndex(attacker, Piece.PieceType.King)]) |
+                (SlidingAttacks.bishopAttacks(square, occupancy) & (pieceBitBoards[BitBoard.pieceIndex(attacker, Piece.PieceType.Bishop)] | queens)) |
+                (SlidingAttacks.rookAttacks(square, occupancy) & (pieceBitBoards[BitBoard.pieceIndex(attacker, Piece.PieceType.Rook)] | queens));
+    }
+
+    private static long[] initStepAttacks(final int[][] steps) {
+        final long[] attacks = new long[64];
+        for (int square = 0; square < 64; square++) {
+            for (final int[] step : steps) {
+                attacks[square] |= stepBit(square, step[0], step[1]);
+            }
+        }
+        return attacks;
+    }
+
+    private static long[] initPawnAttacks(final Alliance alliance) {
+        final long[] attacks = new long[64];
+        for (int square = 0; square < 64; square++) {
+            attacks[square] = stepBit(square, alliance.getDirection(), -1) | stepBit(square, alliance.getDirection(), 1);
+        }
+        return attacks;
+    }
+
+    private static long stepBit(final int square, final int rowStep, final int columnStep) {
+        final int row = square / 8 + rowStep;
+        final int column = square % 8 + columnStep;
+        if (row < 0 || row > 7 || column < 0 || column > 7) {
+            return BitBoard.Empty;
+        }
+        return BitBoard.squareBit(row * 8 + column);
+    }
+}
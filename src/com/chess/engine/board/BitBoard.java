@@ -0,0 +1,87 @@
+package com.chess.engine.board;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.pieces.Piece;
+
+/*
+ * Square sets packed into a long, one bit per square. Bit i is square i of the
+ * board, so bit 0 is the top left corner (a8) and bit 63 the bottom right (h1),
+ * matching the coordinates used by Board.getSquare.
+ */
+public class BitBoard {
+
+    public static final long Empty = 0L;
+    public static final long Full = ~0L;
+
+    public static final long FirstColumn = initColumn(0);
+    public static final long SecondColumn = initColumn(1);
+    public static final long SeventhColumn = initColumn(6);
+    public static final long EighthColumn = initColumn(7);
+
+    public static final long EighthRank = initRow(0);
+    public static final long SeventhRank = initRow(8);
+    public static final long SixthRank = initRow(16);
+    public static final long FifthRank = initRow(24);
+    public static final long FourthRank = initRow(32);
+    public static final long ThirdRank = initRow(40);
+    public static final long SecondRank = initRow(48);
+    public static final long FirstRank = initRow(56);
+
+    public static final int PieceTypes = Piece.PieceType.values().length;
+    public static final int PieceIndexes = PieceTypes * Alliance.values().length;
+
+    private BitBoard() {
+        throw new RuntimeException("No instantiation");
+    }
+
+    private static long initColumn(final int columnNumber) {
+        long column = Empty;
+        for (int square = columnNumber; square < 64; square += 8) {
+            column |= squareBit(square);
+        }
+        return column;
+    }
+
+    private static long initRow(final int rowNumber) {
+        long row = Empty;
+        for (int square = rowNumber; square < rowNumber + 8; square++) {
+            row |= squareBit(square);
+        }
+        return row;
+    }
+
+    public static long squareBit(final int square) {
+        return 1L << square;
+    }
+
+    public static boolean isSet(final long bitBoard, final int square) {
+        return (bitBoard & squareBit(square)) != 0;
+    }
+
+    public static int count(final long bitBoard) {
+        return Long.bitCount(bitBoard);
+    }
+
+    public static int firstSquare(final long bitBoard) {
+        return Long.numberOfTrailingZeros(bitBoard);
+    }
+
+    public static long clearFirstSquare(final long bitBoard) {
+        return bitBoard & (bitBoard - 1);
+    }
+
+    public static int pieceIndex(final Alliance alliance, final Piece.PieceType pieceType) {
+        return alliance.ordinal() * PieceTypes + pieceType.ordinal();
+    }
+
+    public static String toString(final long bitBoard) {
+        final StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 64; i++) {
+            builder.append(isSet(bitBoard, i) ? " 1" : " .");
+            if ((i + 1) % 8 == 0) {
+                builder.append("\n");
+            }
+        }
+        return builder.toString();
+    }
+}
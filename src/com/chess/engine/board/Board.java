@@ -8,25 +8,45 @@ import com.chess.engine.player.WhitePlayer;
 import java.util.*;
 
 public class Board {
+    private final Piece[] pieces;
     private final List<Square> gameBoard;
+    private final long[] pieceBitBoards;
+    private final long whiteOccupancy;
+    private final long blackOccupancy;
     private final Collection<Piece> whitePieces;
     private final Collection<Piece> blackPieces;
+    private final Pawn enPassantPawn;
+    private final int castlingRights;
+    private final int halfMoveClock;
+    private final int fullMoveNumber;
+    private final long zobristKey;
 
     private final WhitePlayer whitePlayer;
     private final BlackPlayer blackPlayer;
 
     private final Player currentPlayer;
-    private Board(Builder builder){
-        this.gameBoard = createGameBoard(builder);
-        this.whitePieces = calculateActivePieces(this.gameBoard, Alliance.White);
-        this.blackPieces = calculateActivePieces(this.gameBoard, Alliance.Black);
 
-        final Collection<Move> whiteStandardLegalMoves = calculateLegalMoves(this.whitePieces);
-        final Collection<Move> blackStandardLegalMoves = calculateLegalMoves(this.blackPieces);
+    private volatile Collection<Move> whiteStandardLegalMoves;
+    private volatile Collection<Move> blackStandardLegalMoves;
+
+    private Board(Builder builder){
+        this.pieces = builder.handOverConfig();
+        this.gameBoard = createGameBoard(this.pieces);
+        this.pieceBitBoards = createPieceBitBoards(this.pieces);
+        this.whiteOccupancy = calculateOccupancy(this.pieceBitBoards, Alliance.White);
+        this.blackOccupancy = calculateOccupancy(this.pieceBitBoards, Alliance.Black);
+        this.whitePieces = calculateActivePieces(this.pieces, this.whiteOccupancy);
+        this.blackPieces = calculateActivePieces(this.pieces, this.blackOccupancy);
+        this.enPassantPawn = builder.enPassantPawn;
+        this.castlingRights = CastlingRights.fromBoard(this);
+        this.halfMoveClock = builder.halfMoveClock;
+        this.fullMoveNumber = builder.fullMoveNumber;
 
-        this.whitePlayer = new WhitePlayer(this, whiteStandardLegalMoves, blackStandardLegalMoves);
-        this.blackPlayer = new BlackPlayer(this, whiteStandardLegalMoves, blackStandardLegalMoves);
+        this.whitePlayer = new WhitePlayer(this);
+        this.blackPlayer = new BlackPlayer(this);
         this.currentPlayer = builder.nextMoveMaker.choosePlayer(this.whitePlayer, this.blackPlayer);
+        this.zobristKey = builder.hasZobristKey ? builder.zobristKey :
+                Zobrist.positionKey(this.pieceBitBoards, builder.nextMoveMaker, this.castlingRights, getEnPassantSquare());
     }
 
 
@@ -48,6 +68,78 @@ public class Board {
         return this.blackPieces;
     }
 
+    public Pawn getEnPassantPawn() {
+        return this.enPassantPawn;
+    }
+
+    public int getEnPassantSquare() {
+        if (this.enPassantPawn == null) {
+            return BoardFunctions.NoSquare;
+        }
+        return this.enPassantPawn.getPiecePosition() - (this.enPassantPawn.getPieceAlliance().getDirection() * 8);
+    }
+
+    public int getCastlingRights() {
+        return this.castlingRights;
+    }
+
+    public int getHalfMoveClock() {
+        return this.halfMoveClock;
+    }
+
+    public int getFullMoveNumber() {
+        return this.fullMoveNumber;
+    }
+
+    public long getZobristKey() {
+        return this.zobristKey;
+    }
+
+    public long getPawnKey() {
+        return Zobrist.pawnKey(this.pieceBitBoards);
+    }
+
+    @Override
+    public int hashCode() {
+        return (int) (this.zobristKey ^ (this.zobristKey >>> 32));
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof Board)) {
+            return false;
+        }
+        final Board otherBoard = (Board) other;
+        return this.zobristKey == otherBoard.zobristKey &&
+                this.currentPlayer.getAlliance() == otherBoard.currentPlayer.getAlliance() &&
+                this.castlingRights == otherBoard.castlingRights &&
+                getEnPassantSquare() == otherBoard.getEnPassantSquare() &&
+                Arrays.equals(this.pieceBitBoards, otherBoard.pieceBitBoards);
+    }
+
+    public long getPieceBitBoard(final Alliance alliance, final Piece.PieceType pieceType) {
+        return this.pieceBitBoards[BitBoard.pieceIndex(alliance, pieceType)];
+    }
+
+    public long getAllianceOccupancy(final Alliance alliance) {
+        return alliance.isWhite() ? this.whiteOccupancy : this.blackOccupancy;
+    }
+
+    public long getOccupancy() {
+        return this.whiteOccupancy | this.blackOccupancy;
+    }
+
+    public boolean isOccupied(final int squareCoordinate) {
+        return BitBoard.isSet(getOccupancy(), squareCoordinate);
+    }
+
+    public boolean isSquareAttacked(final int squareCoordinate, final Alliance attacker) {
+        return AttackTables.isSquareAttacked(squareCoordinate, attacker, this.pieceBitBoards, getOccupancy());
+    }
+
     public String toString(){
         final StringBuilder builder = new StringBuilder();
         for (int i = 0; i < 64; i++) {
@@ -60,105 +152,191 @@ public class Board {
         return builder.toString();
     }
 
+    public String toFen() {
+        return FenUtilities.toFen(this);
+    }
+
+    public static Board fromFen(final CharSequence fen) {
+        return FenUtilities.parseFen(fen);
+    }
+
+    public Collection<Move> getStandardLegalMoves(final Alliance alliance){
+        Collection<Move> standardLegalMoves = alliance.isWhite() ? this.whiteStandardLegalMoves : this.blackStandardLegalMoves;
+        if (standardLegalMoves == null) {
+            standardLegalMoves = calculateLegalMoves(alliance.isWhite() ? this.whitePieces : this.blackPieces);
+            if (alliance.isWhite()) {
+                this.whiteStandardLegalMoves = standardLegalMoves;
+            } else {
+                this.blackStandardLegalMoves = standardLegalMoves;
+            }
+        }
+        return standardLegalMoves;
+    }
+
     private Collection<Move> calculateLegalMoves(final Collection<Piece> pieces){
         final List<Move> legalMoves = new ArrayList<>();
         for (final Piece piece: pieces) {
             legalMoves.addAll(piece.calculateLegalMoves(this));
         }
-        return legalMoves;
+        return Collections.unmodifiableList(legalMoves);
     }
 
-    private static Collection<Piece> calculateActivePieces(final List<Square> gameBoard, final Alliance alliance){
-        final List<Piece> activePieces = new ArrayList<>();
-        for(final Square square: gameBoard){
-            if (square.isOccupied()) {
-                final Piece piece = square.getPiece();
-                if(piece.getPieceAlliance() == alliance){
-                    activePieces.add(piece);
-                }
-            }
+    private static Collection<Piece> calculateActivePieces(final Piece[] pieces, final long occupancy){
+        final List<Piece> activePieces = new ArrayList<>(BitBoard.count(occupancy));
+        for(long squares = occupancy; squares != BitBoard.Empty; squares = BitBoard.clearFirstSquare(squares)){
+            activePieces.add(pieces[BitBoard.firstSquare(squares)]);
         }
         return Collections.unmodifiableList(activePieces);
     }
+
+    private static long[] createPieceBitBoards(final Piece[] pieces){
+        final long[] pieceBitBoards = new long[BitBoard.PieceIndexes];
+        for(int i = 0; i < 64; i++){
+            final Piece piece = pieces[i];
+            if (piece != null) {
+                pieceBitBoards[BitBoard.pieceIndex(piece.getPieceAlliance(), piece.getPieceType())] |= BitBoard.squareBit(i);
+            }
+        }
+        return pieceBitBoards;
+    }
+
+    private static long calculateOccupancy(final long[] pieceBitBoards, final Alliance alliance){
+        long occupancy = BitBoard.Empty;
+        for(final Piece.PieceType pieceType : Piece.PieceType.values()){
+            occupancy |= pieceBitBoards[BitBoard.pieceIndex(alliance, pieceType)];
+        }
+        return occupancy;
+    }
     public Square getSquare (int squareCoordinate){
         return gameBoard.get(squareCoordinate);
     }
-    private static List<Square> createGameBoard(final Builder builder){
+    private static List<Square> createGameBoard(final Piece[] pieces){
         final Square[] squares = new Square[64];
         for(int i = 0; i < 64; i++) {
-            squares[i] = Square.createSquare(i, builder.boardConfig.get(i));
+            squares[i] = Square.createSquare(i, pieces[i]);
         }
-        return Collections.unmodifiableList(List.of(squares));
+        return Collections.unmodifiableList(Arrays.asList(squares));
     }
 
     public static Board createChessBoard(){
         final Builder builder = new Builder();
-        builder.setPiece(new Rook(0, Alliance.Black));
-        builder.setPiece(new Knight(1, Alliance.Black));
-        builder.setPiece(new Bishop(2, Alliance.Black));
-        builder.setPiece(new Queen(3, Alliance.Black));
-        builder.setPiece(new King(4, Alliance.Black));
-        builder.setPiece(new Bishop(5, Alliance.Black));
-        builder.setPiece(new Knight(6, Alliance.Black));
-        builder.setPiece(new Rook(7, Alliance.Black));
-        builder.setPiece(new Pawn(8, Alliance.Black));
-        builder.setPiece(new Pawn(9, Alliance.Black));
-        builder.setPiece(new Pawn(10, Alliance.Black));
-        builder.setPiece(new Pawn(11, Alliance.Black));
-        builder.setPiece(new Pawn(12, Alliance.Black));
-        builder.setPiece(new Pawn(13, Alliance.Black));
-        builder.setPiece(new Pawn(14, Alliance.Black));
-        builder.setPiece(new Pawn(15, Alliance.Black));
-
-        builder.setPiece(new Rook(63, Alliance.White));
-        builder.setPiece(new Knight(62, Alliance.White));
-        builder.setPiece(new Bishop(61, Alliance.White));
-        builder.setPiece(new Queen(59, Alliance.White));
-        builder.setPiece(new King(60, Alliance.White));
-        builder.setPiece(new Bishop(58, Alliance.White));
-        builder.setPiece(new Knight(57, Alliance.White));
-        builder.setPiece(new Rook(56, Alliance.White));
-        builder.setPiece(new Pawn(55, Alliance.White));
-        builder.setPiece(new Pawn(54, Alliance.White));
-        builder.setPiece(new Pawn(53, Alliance.White));
-        builder.setPiece(new Pawn(52, Alliance.White));
-        builder.setPiece(new Pawn(51, Alliance.White));
-        builder.setPiece(new Pawn(50, Alliance.White));
-        builder.setPiece(new Pawn(49, Alliance.White));
-        builder.setPiece(new Pawn(48, Alliance.White));
+        builder.setPiece(Piece.createPiece(Piece.PieceType.Rook, 0, Alliance.Black));
+        builder.setPiece(Piece.createPiece(Piece.PieceType.Knight, 1, Alliance.Black));
+        builder.setPiece(Piece.createPiece(Piece.PieceType.Bishop, 2, Alliance.Black));
+        builder.setPiece(Piece.createPiece(Piece.PieceType.Queen, 3, Alliance.Black));
+        builder.setPiece(Piece.createPiece(Piece.PieceType.King, 4, Alliance.Black));
+        builder.setPiece(Piece.createPiece(Piece.PieceType.Bishop, 5, Alliance.Black));
+        builder.setPiece(Piece.createPiece(Piece.PieceType.Knight, 6, Alliance.Black));
+        builder.setPiece(Piece.createPiece(Piece.PieceType.Rook, 7, Alliance.Black));
+        builder.setPiece(Piece.createPiece(Piece.PieceType.Pawn, 8, Alliance.Black));
+        builder.setPiece(Piece.createPiece(Piece.PieceType.Pawn, 9, Alliance.Black));
+        builder.setPiece(Piece.createPiece(Piece.PieceType.Pawn, 10, Alliance.Black));
+        builder.setPiece(Piece.createPiece(Piece.PieceType.Pawn, 11, Alliance.Black));
+        builder.setPiece(Piece.createPiece(Piece.PieceType.Pawn, 12, Alliance.Black));
+        builder.setPiece(Piece.createPiece(Piece.PieceType.Pawn, 13, Alliance.Black));
+        builder.setPiece(Piece.createPiece(Piece.PieceType.Pawn, 14, Alliance.Black));
+        builder.setPiece(Piece.createPiece(Piece.PieceType.Pawn, 15, Alliance.Black));
+
+        builder.setPiece(Piece.createPiece(Piece.PieceType.Rook, 63, Alliance.White));
+        builder.setPiece(Piece.createPiece(Piece.PieceType.Knight, 62, Alliance.White));
+        builder.setPiece(Piece.createPiece(Piece.PieceType.Bishop, 61, Alliance.White));
+        builder.setPiece(Piece.createPiece(Piece.PieceType.Queen, 59, Alliance.White));
+        builder.setPiece(Piece.createPiece(Piece.PieceType.King, 60, Alliance.White));
+        builder.setPiece(Piece.createPiece(Piece.PieceType.Bishop, 58, Alliance.White));
+        builder.setPiece(Piece.createPiece(Piece.PieceType.Knight, 57, Alliance.White));
+        builder.setPiece(Piece.createPiece(Piece.PieceType.Rook, 56, Alliance.White));
+        builder.setPiece(Piece.createPiece(Piece.PieceType.Pawn, 55, Alliance.White));
+        builder.setPiece(Piece.createPiece(Piece.PieceType.Pawn, 54, Alliance.White));
+        builder.setPiece(Piece.createPiece(Piece.PieceType.Pawn, 53, Alliance.White));
+        builder.setPiece(Piece.createPiece(Piece.PieceType.Pawn, 52, Alliance.White));
+        builder.setPiece(Piece.createPiece(Piece.PieceType.Pawn, 51, Alliance.White));
+        builder.setPiece(Piece.createPiece(Piece.PieceType.Pawn, 50, Alliance.White));
+        builder.setPiece(Piece.createPiece(Piece.PieceType.Pawn, 49, Alliance.White));
+        builder.setPiece(Piece.createPiece(Piece.PieceType.Pawn, 48, Alliance.White));
 
         builder.setMoveMaker(Alliance.White);
         return builder.build();
     }
 
     public Iterable<Move> getAllLegalMoves() {
-        List<Move> allLegalMoves = new ArrayList<>();
-        allLegalMoves.addAll(this.whitePlayer.getLegalMoves());
-        allLegalMoves.addAll(this.blackPlayer.getLegalMoves());
+        final Collection<Move> whiteLegalMoves = this.whitePlayer.getLegalMoves();
+        final Collection<Move> blackLegalMoves = this.blackPlayer.getLegalMoves();
+        final List<Move> allLegalMoves = new ArrayList<>(whiteLegalMoves.size() + blackLegalMoves.size());
+        allLegalMoves.addAll(whiteLegalMoves);
+        allLegalMoves.addAll(blackLegalMoves);
         return Collections.unmodifiableList(allLegalMoves);
     }
 
+    /*
+     * Collects a position square by square. Starting from an existing board
+     * copies its pieces and move clocks, so a move only has to apply what it
+     * changes; the side to move and the en-passant pawn are never copied and
+     * must be set again. build() hands the piece array to the new board rather
+     * than copying it, and a builder changed afterwards copies it first.
+     */
     public static class Builder {
-        Map<Integer, Piece> boardConfig;
+        Piece[] boardConfig;
+        boolean configHandedOver;
         Alliance nextMoveMaker;
         Pawn enPassantPawn;
+        int halfMoveClock;
+        int fullMoveNumber;
+        long zobristKey;
+        boolean hasZobristKey;
         public Builder(){
-            this.boardConfig = new HashMap<>();
+            this.boardConfig = new Piece[64];
+            this.fullMoveNumber = 1;
+        }
+        public Builder(final Board board){
+            this.boardConfig = board.pieces.clone();
+            this.halfMoveClock = board.halfMoveClock;
+            this.fullMoveNumber = board.fullMoveNumber;
         }
         public Builder setPiece(final Piece piece){
-            this.boardConfig.put(piece.getPiecePosition(), piece);
+            ownConfig()[piece.getPiecePosition()] = piece;
+            return this;
+        }
+        public Builder clearPiece(final int squareCoordinate){
+            ownConfig()[squareCoordinate] = null;
+            return this;
+        }
+        public Builder setHalfMoveClock(final int halfMoveClock){
+            this.halfMoveClock = halfMoveClock;
+            return this;
+        }
+        public Builder setFullMoveNumber(final int fullMoveNumber){
+            this.fullMoveNumber = fullMoveNumber;
             return this;
         }
         public Builder setMoveMaker(final Alliance nextMoveMaker){
             this.nextMoveMaker = nextMoveMaker;
             return this;
         }
+        Builder setZobristKey(final long zobristKey){
+            this.zobristKey = zobristKey;
+            this.hasZobristKey = true;
+            return this;
+        }
         public Board build(){
             return new Board(this);
         }
 
-        public void setEnPassantPawn(Pawn movedPawn) {
+        Piece[] handOverConfig(){
+            this.configHandedOver = true;
+            return this.boardConfig;
+        }
+
+        private Piece[] ownConfig(){
+            if (this.configHandedOver) {
+                this.boardConfig = this.boardConfig.clone();
+                this.configHandedOver = false;
+            }
+            return this.boardConfig;
+        }
+
+        public Builder setEnPassantPawn(final Pawn enPassantPawn) {
             this.enPassantPawn = enPassantPawn;
+            return this;
         }
     }
 }
@@ -2,6 +2,8 @@ package com.chess.engine.board;
 
 public class BoardFunctions {
 
+    public static final int NoSquare = -1;
+
     public static final boolean[] FirstColumn = initColumn(0);
     public static final boolean[] SecondColumn = initColumn(1);
     public static final boolean[] SeventhColumn = initColumn(6);
@@ -27,7 +29,8 @@ public class BoardFunctions {
 
     private static boolean[] initRow(int rowNumber) {
         final boolean[] row = new boolean[64];
-        while(rowNumber < 64) {
+        final int rowEnd = rowNumber + 8;
+        while(rowNumber < rowEnd) {
             row[rowNumber] = true;
             rowNumber += 1;
         }
@@ -39,4 +42,20 @@ public class BoardFunctions {
     public static boolean isValidSquareCoordinate(int coordinate){
         return (coordinate >=0) && (coordinate < 64);
     }
+
+    public static String getPositionAtCoordinate(final int coordinate) {
+        return "" + (char) ('a' + coordinate % 8) + (8 - coordinate / 8);
+    }
+
+    public static int getCoordinateAtPosition(final String position) {
+        if (position.length() != 2) {
+            return NoSquare;
+        }
+        final int column = position.charAt(0) - 'a';
+        final int row = '8' - position.charAt(1);
+        if (column < 0 || column > 7 || row < 0 || row > 7) {
+            return NoSquare;
+        }
+        return row * 8 + column;
+    }
 }
@@ -0,0 +1,89 @@
+package com.chess.engine.board;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.pieces.Piece;
+
+public class CastlingRights {
+
+    public static final int None = 0;
+    public static final int WhiteKingSide = 1;
+    public static final int WhiteQueenSide = 2;
+    public static final int BlackKingSide = 4;
+    public static final int BlackQueenSide = 8;
+    public static final int All = WhiteKingSide | WhiteQueenSide | BlackKingSide | BlackQueenSide;
+
+    public static final int WhiteKingStart = 60;
+    public static final int BlackKingStart = 4;
+
+    private static final int[] RightsKeptAfterTouching = initRightsKept();
+
+    private CastlingRights() {
+        throw new RuntimeException("No instantiation");
+    }
+
+    private static int[] initRightsKept() {
+        final int[] rightsKept = new int[64];
+        for (int i = 0; i < 64; i++) {
+            rightsKept[i] = All;
+        }
+        rightsKept[WhiteKingStart] &= ~(WhiteKingSide | WhiteQueenSide);
+        rightsKept[63] &= ~WhiteKingSide;
+        rightsKept[56] &= ~WhiteQueenSide;
+        rightsKept[BlackKingStart] &= ~(BlackKingSide | BlackQueenSide);
+        rightsKept[7] &= ~BlackKingSide;
+        rightsKept[0] &= ~BlackQueenSide;
+        return rightsKept;
+    }
+
+    public static int afterMove(final int castlingRights, final int source, final int destination) {
+        return castlingRights & RightsKeptAfterTouching[source] & RightsKeptAfterTouching[destination];
+    }
+
+    public static int fromBoard(final Board board) {
+        int castlingRights = None;
+        if (isUnmoved(board, WhiteKingStart, Alliance.White, Piece.PieceType.King)) {
+            if (isUnmoved(board, 63, Alliance.White, Piece.PieceType.Rook)) {
+                castlingRights |= WhiteKingSide;
+            }
+            if (isUnmoved(board, 56, Alliance.White, Piece.PieceType.Rook)) {
+                castlingRights |= WhiteQueenSide;
+            }
+        }
+        if (isUnmoved(board, BlackKingStart, Alliance.Black, Piece.PieceType.King)) {
+            if (isUnmoved(board, 7, Alliance.Black, Piece.PieceType.Rook)) {
+                castlingRights |= BlackKingSide;
+            }
+            if (isUnmoved(board, 0, Alliance.Black, Piece.PieceType.Rook)) {
+                castlingRights |= BlackQueenSide;
+            }
+        }
+        return castlingRights;
+    }
+
+    public static boolean isUnmovedCastlePiece(final int castlingRights, final Piece.PieceType pieceType, final Alliance alliance, final int square) {
+        if (pieceType.isKing()) {
+            return square == (alliance.isWhite() ? WhiteKingStart : BlackKingStart) &&
+                    (castlingRights & (alliance.isWhite() ? WhiteKingSide | WhiteQueenSide : BlackKingSide | BlackQueenSide)) != None;
+        }
+        if (pieceType.isRook()) {
+            return (castlingRights & rookRight(square, alliance)) != None;
+        }
+        return false;
+    }
+
+    private static int rookRight(final int square, final Alliance alliance) {
+        if (alliance.isWhite()) {
+            return square == 63 ? WhiteKingSide : square == 56 ? WhiteQueenSide : None;
+        }
+        return square == 7 ? BlackKingSide : square == 0 ? BlackQueenSide : None;
+    }
+
+    private static boolean isUnmoved(final Board board, final int square, final Alliance alliance, final Piece.PieceType pieceType) {
+        final Square boardSquare = board.getSquare(square);
+        if (!boardSquare.isOccupied()) {
+            return false;
+        }
+        final Piece piece = boardSquare.getPiece();
+        return piece.isFirstMove() && piece.getPieceAlliance() == alliance && piece.getPieceType() == pieceType;
+    }
+}
@@ -0,0 +1,371 @@
+package com.chess.engine.board;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.pieces.Pawn;
+import com.chess.engine.pieces.Piece;
+
+import java.nio.ByteBuffer;
+
+/*
+ * Reads and writes positions in Forsyth-Edwards Notation. The parser walks the
+ * text once, in place, over any CharSequence or straight over the bytes of a
+ * ByteBuffer, so ingesting positions from large logs allocates little beyond
+ * the boards it builds. The two move-clock fields are optional on input.
+ */
+public class FenUtilities {
+
+    private static final int[] CastleSquares = {CastlingRights.BlackKingStart, 0, 7, CastlingRights.WhiteKingStart, 56, 63};
+    private static final int MaxMoveCounter = 100000;
+
+    private FenUtilities() {
+        throw new RuntimeException("Not Instantiable");
+    }
+
+    public static Board createGameFromFEN(final String fenString) {
+        return parseFen(fenString);
+    }
+
+    public static Board parseFen(final CharSequence fen) {
+        return parseFen(fen, 0, fen.length());
+    }
+
+    public static Board parseFen(final CharSequence fen, final int start, final int end) {
+        return new FenParser(fen, start, end).parse();
+    }
+
+    /*
+     * Parses the line starting at the buffer's position and moves the position
+     * past its line break. Blank lines are skipped; null means the buffer held
+     * no further position.
+     */
+    public static Board parseFen(final ByteBuffer buffer) {
+        final AsciiSequence bytes = new AsciiSequence(buffer);
+        while (buffer.hasRemaining()) {
+            final int start = buffer.position();
+            int end = start;
+            while (end < buffer.limit() && buffer.get(end) != '\n') {
+                end++;
+            }
+            buffer.position(end < buffer.limit() ? end + 1 : end);
+            if (end > start && buffer.get(end - 1) == '\r') {
+                end--;
+            }
+            if (!isBlank(bytes, start, end)) {
+                return parseFen(bytes, start, end);
+            }
+        }
+        return null;
+    }
+
+    public static String toFen(final Board board) {
+        return appendFen(board, new StringBuilder(90)).toString();
+    }
+
+    public static StringBuilder appendFen(final Board board, final StringBuilder builder) {
+        for (int row = 0; row < 8; row++) {
+            int emptySquares = 0;
+            for (int column = 0; column < 8; column++) {
+                final Piece piece = board.getSquare(row * 8 + column).getPiece();
+                if (piece == null) {
+                    emptySquares++;
+                    continue;
+                }
+                if (emptySquares > 0) {
+                    builder.append((char) ('0' + emptySquares));
+                    emptySquares = 0;
+                }
+                final char pieceChar = piece.getPieceType().toString().charAt(0);
+                builder.append(piece.getPieceAlliance().isWhite() ? pieceChar : Character.toLowerCase(pieceChar));
+            }
+            if (emptySquares > 0) {
+                builder.append((char) ('0' + emptySquares));
+            }
+            if (row < 7) {
+                builder.append('/');
+            }
+        }
+        builder.append(board.currentPlayer().getAlliance().isWhite() ? " w " : " b ");
+
+        final int castlingRights = board.getCastlingRights();
+        if (castlingRights == CastlingRights.None) {
+            builder.append('-');
+        } else {
+            appendIf(builder, castlingRights, CastlingRights.WhiteKingSide, 'K');
+            appendIf(builder, castlingRights, CastlingRights.WhiteQueenSide, 'Q');
+            appendIf(builder, castlingRights, CastlingRights.BlackKingSide, 'k');
+            appendIf(builder, castlingRights, CastlingRights.BlackQueenSide, 'q');
+        }
+
+        final int enPassantSquare = board.getEnPassantSquare();
+        if (enPassantSquare == BoardFunctions.NoSquare) {
+            builder.append(" -");
+        } else {
+            builder.append(' ').append((char) ('a' + enPassantSquare % 8)).append((char) ('8' - enPassantSquare / 8));
+        }
+        return builder.append(' ').append(board.getHalfMoveClock()).append(' ').append(board.getFullMoveNumber());
+    }
+
+    private static void appendIf(final StringBuilder builder, final int castlingRights, final int right, final char rightChar) {
+        if ((castlingRights & right) != CastlingRights.None) {
+            builder.append(rightChar);
+        }
+    }
+
+    private static boolean isBlank(final CharSequence chars, final int start, final int end) {
+        for (int i = start; i < end; i++) {
+            if (chars.charAt(i) != ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static final class FenParser {
+        private final CharSequence fen;
+        private final int start;
+        private final int end;
+        private int position;
+
+        FenParser(final CharSequence fen, final int start, final int end) {
+            this.fen = fen;
+            this.start = start;
+            this.end = end;
+            this.position = start;
+        }
+
+        Board parse() {
+            final Board.Builder builder = new Board.Builder();
+            skipSpaces();
+            parsePlacement(builder);
+            skipSeparator();
+            final Alliance moveMaker = parseMoveMaker();
+            skipSeparator();
+            final int castlingRights = parseCastlingRights();
+            markCastlePieces(builder, castlingRights);
+            skipSeparator();
+            parseEnPassant(builder, moveMaker);
+            skipSpaces();
+            if (this.position < this.end) {
+                builder.setHalfMoveClock(parseNumber());
+                skipSpaces();
+                if (this.position < this.end) {
+                    builder.setFullMoveNumber(Math.max(1, parseNumber()));
+                    skipSpaces();
+                }
+            }
+            if (this.position != this.end) {
+                throw invalid();
+            }
+            builder.setMoveMaker(moveMaker);
+            return builder.build();
+        }
+
+        /* eight ranks of exactly eight files each, holding one king per side */
+        private void parsePlacement(final Board.Builder builder) {
+            int rank = 0;
+            int file = 0;
+            int whiteKings = 0;
+            int blackKings = 0;
+            while (this.position < this.end && this.fen.charAt(this.position) != ' ') {
+                final char fenChar = this.fen.charAt(this.position++);
+                if (fenChar == '/') {
+                    if (file != 8 || ++rank > 7) {
+                        throw invalid();
+                    }
+                    file = 0;
+                } else if (fenChar >= '1' && fenChar <= '8') {
+                    file += fenChar - '0';
+                    if (file > 8) {
+                        throw invalid();
+                    }
+                } else if (file < 8) {
+                    final Piece piece = createPiece(fenChar, rank * 8 + file++);
+                    if (piece.getPieceType() == Piece.PieceType.King) {
+                        if (piece.getPieceAlliance().isWhite()) {
+                            whiteKings++;
+                        } else {
+                            blackKings++;
+                        }
+                    }
+                    builder.setPiece(piece);
+                } else {
+                    throw invalid();
+                }
+            }
+            if (rank != 7 || file != 8 || whiteKings != 1 || blackKings != 1) {
+                throw invalid();
+            }
+        }
+
+        private Piece createPiece(final char fenChar, final int square) {
+            final Alliance alliance = fenChar < 'a' ? Alliance.White : Alliance.Black;
+            final Piece.PieceType pieceType = pieceType(fenChar < 'a' ? fenChar : (char) (fenChar - ('a' - 'A')));
+            final boolean isFirstMove = pieceType == Piece.PieceType.Pawn &&
+                    (alliance.isWhite() ? BoardFunctions.SecondRank[square] : BoardFunctions.SeventhRank[square]);
+            return Piece.createPiece(pieceType, square, alliance, isFirstMove);
+        }
+
+        private Piece.PieceType pieceType(final char pieceChar) {
+            switch (pieceChar) {
+                case 'P':
+                    return Piece.PieceType.Pawn;
+                case 'N':
+                    return Piece.PieceType.Knight;
+                case 'B':
+                    return Piece.PieceType.Bishop;
+                case 'R':
+                    return Piece.PieceType.Rook;
+                case 'Q':
+                    return Piece.PieceType.Queen;
+                case 'K':
+                    return Piece.PieceType.King;
+                default:
+                    throw invalid();
+            }
+        }
+
+        private Alliance parseMoveMaker() {
+            final char moveMaker = next();
+            if (moveMaker == 'w') {
+                return Alliance.White;
+            }
+            if (moveMaker == 'b') {
+                return Alliance.Black;
+            }
+            throw invalid();
+        }
+
+        private int parseCastlingRights() {
+            if (peek() == '-') {
+                this.position++;
+                return CastlingRights.None;
+            }
+            int castlingRights = CastlingRights.None;
+            while (this.position < this.end && this.fen.charAt(this.position) != ' ') {
+                switch (this.fen.charAt(this.position++)) {
+                    case 'K':
+                        castlingRights |= CastlingRights.WhiteKingSide;
+                        break;
+                    case 'Q':
+                        castlingRights |= CastlingRights.WhiteQueenSide;
+                        break;
+                    case 'k':
+                        castlingRights |= CastlingRights.BlackKingSide;
+                        break;
+                    case 'q':
+                        castlingRights |= CastlingRights.BlackQueenSide;
+                        break;
+                    default:
+                        throw invalid();
+                }
+            }
+            return castlingRights;
+        }
+
+        /* castling rights live on the unmoved kings and rooks, so the pieces on their home squares are swapped for unmoved ones */
+        private void markCastlePieces(final Board.Builder builder, final int castlingRights) {
+            for (final int square : CastleSquares) {
+                final Piece piece = builder.boardConfig[square];
+                if (piece != null && CastlingRights.isUnmovedCastlePiece(castlingRights, piece.getPieceType(), piece.getPieceAlliance(), square)) {
+                    builder.setPiece(Piece.createPiece(piece.getPieceType(), square, piece.getPieceAlliance(), true));
+                }
+            }
+        }
+
+        private void parseEnPassant(final Board.Builder builder, final Alliance moveMaker) {
+            final char file = next();
+            if (file == '-') {
+                return;
+            }
+            final char rank = next();
+            final Alliance jumper = moveMaker.isWhite() ? Alliance.Black : Alliance.White;
+            if (file < 'a' || file > 'h' || rank != (jumper.isWhite() ? '3' : '6')) {
+                throw invalid();
+            }
+            final int enPassantSquare = ('8' - rank) * 8 + (file - 'a');
+            final Piece jumpedPawn = builder.boardConfig[enPassantSquare + (jumper.getDirection() * 8)];
+            if (jumpedPawn == null || jumpedPawn.getPieceType() != Piece.PieceType.Pawn || jumpedPawn.getPieceAlliance() != jumper) {
+                throw invalid();
+            }
+            builder.setEnPassantPawn((Pawn) jumpedPawn);
+        }
+
+        private int parseNumber() {
+            int number = 0;
+            final int first = this.position;
+            while (this.position < this.end && this.fen.charAt(this.position) >= '0' && this.fen.charAt(this.position) <= '9') {
+                number = number * 10 + (this.fen.charAt(this.position++) - '0');
+                if (number > MaxMoveCounter) {
+                    throw invalid();
+                }
+            }
+            if (this.position == first) {
+                throw invalid();
+            }
+            return number;
+        }
+
+        private char peek() {
+            if (this.position >= this.end) {
+                throw invalid();
+            }
+            return this.fen.charAt(this.position);
+        }
+
+        private char next() {
+            final char nextChar = peek();
+            this.position++;
+            return nextChar;
+        }
+
+        private void skipSeparator() {
+            if (peek() != ' ') {
+                throw invalid();
+            }
+            skipSpaces();
+        }
+
+        private void skipSpaces() {
+            while (this.position < this.end && this.fen.charAt(this.position) == ' ') {
+                this.position++;
+            }
+        }
+
+        private RuntimeException invalid() {
+            return new RuntimeException("Invalid FEN String " + this.fen.subSequence(this.start, this.end));
+        }
+    }
+
+    /* read-only view of a buffer's bytes as ASCII characters, without copying them */
+    private static final class AsciiSequence implements CharSequence {
+        private final ByteBuffer buffer;
+
+        AsciiSequence(final ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int length() {
+            return this.buffer.limit();
+        }
+
+        @Override
+        public char charAt(final int index) {
+            return (char) (this.buffer.get(index) & 0xFF);
+        }
+
+        @Override
+        public CharSequence subSequence(final int start, final int end) {
+            final StringBuilder builder = new StringBuilder(end - start);
+            for (int i = start; i < end; i++) {
+                builder.append(charAt(i));
+            }
+            return builder;
+        }
+
+        @Override
+        public String toString() {
+            return subSequence(0, length()).toString();
+        }
+    }
+}
@@ -50,6 +50,22 @@ public class Move {
     public Piece getAttackedPiece(){
         return null;
     }
+    public Piece.PieceType getPromotionType(){
+        return null;
+    }
+
+    public int getMoveKey(){
+        return createMoveKey(getCurrentCoordinate(), getDestinationCoordinate(), getPromotionType());
+    }
+
+    public static int createMoveKey(final int currentCoordinate, final int destinationCoord, final Piece.PieceType promotionType){
+        return currentCoordinate | (destinationCoord << 6) | ((promotionType == null ? 0 : promotionType.ordinal() + 1) << 12);
+    }
+
+    public Board getBoard(){
+        return this.board;
+    }
+
     public Piece getMovedPiece(){
         return this.movedPiece;
     }
@@ -58,21 +74,52 @@ public class Move {
         return this.destinationCoord;
     }
 
+    @Override
+    public String toString() {
+        return BoardFunctions.getPositionAtCoordinate(getCurrentCoordinate()) +
+                BoardFunctions.getPositionAtCoordinate(this.destinationCoord);
+    }
+
     public Board execute() {
-        final Board.Builder builder = new Board.Builder();
-        for(final Piece piece : this.board.currentPlayer().getActivePieces()) {
-            if (!this.movedPiece.equals(piece)) {
-                builder.setPiece(piece);
-            }
-        }
-        for(final Piece piece : this.board.currentPlayer().getOpponent().getActivePieces()) {
-            builder.setPiece(piece);
+        final Board.Builder builder = new Board.Builder(this.board);
+        final Piece attackedPiece = getAttackedPiece();
+        if (attackedPiece != null) {
+            builder.clearPiece(attackedPiece.getPiecePosition());
         }
-        builder.setPiece(this.movedPiece.movePiece(this));
+        builder.clearPiece(getCurrentCoordinate());
+        builder.setPiece(createMovedPiece());
+        advanceMoveClocks(builder);
         builder.setMoveMaker(this.board.currentPlayer().getOpponent().getAlliance());
+        builder.setZobristKey(calculateZobristKey());
         return builder.build();
     }
 
+    void advanceMoveClocks(final Board.Builder builder) {
+        final boolean resetsClock = isAttack() || this.movedPiece.getPieceType() == Piece.PieceType.Pawn;
+        builder.setHalfMoveClock(resetsClock ? 0 : this.board.getHalfMoveClock() + 1);
+        if (this.board.currentPlayer().getAlliance().isBlack()) {
+            builder.setFullMoveNumber(this.board.getFullMoveNumber() + 1);
+        }
+    }
+
+    Piece createMovedPiece() {
+        return this.movedPiece.movePiece(this);
+    }
+
+    long calculateZobristKey() {
+        final int currentCoordinate = getCurrentCoordinate();
+        final int castlingRights = this.board.getCastlingRights();
+        long zobristKey = this.board.getZobristKey() ^ Zobrist.SideToMoveKey;
+        zobristKey ^= Zobrist.pieceKey(this.movedPiece, currentCoordinate) ^ Zobrist.pieceKey(this.movedPiece, this.destinationCoord);
+        final Piece attackedPiece = getAttackedPiece();
+        if (attackedPiece != null) {
+            zobristKey ^= Zobrist.pieceKey(attackedPiece, attackedPiece.getPiecePosition());
+        }
+        zobristKey ^= Zobrist.castlingKey(castlingRights) ^
+                Zobrist.castlingKey(CastlingRights.afterMove(castlingRights, currentCoordinate, this.destinationCoord));
+        return zobristKey ^ Zobrist.enPassantKey(this.board.getEnPassantSquare());
+    }
+
     public static final class MajorMove extends Move{
         public MajorMove(final Board board, final Piece movedPiece, final int destinationCoord) {
             super(board, movedPiece, destinationCoord);
@@ -87,10 +134,6 @@ public class Move {
             this.attackedPiece = attackedPiece;
         }
 
-        @Override
-        public Board execute(){
-            return null;
-        }
         public boolean isAttack(){
             return true;
         }
@@ -114,7 +157,7 @@ public class Move {
 
     public static final class PawnMove extends Move {
 
-        private PawnMove(final Board board, final Piece movedPiece, final int destinationCoord) {
+        public PawnMove(final Board board, final Piece movedPiece, final int destinationCoord) {
             super(board, movedPiece, destinationCoord);
         }
 
@@ -122,7 +165,7 @@ public class Move {
 
     public static final class PawnAttackMove extends AttackMove {
 
-        private PawnAttackMove(final Board board, final Piece movedPiece, final int destinationCoord, final Piece attackedPiece) {
+        public PawnAttackMove(final Board board, final Piece movedPiece, final int destinationCoord, final Piece attackedPiece) {
             super(board, movedPiece, destinationCoord, attackedPiece);
         }
 
@@ -130,7 +173,7 @@ public class Move {
 
     public static final class EnPassantMove extends AttackMove {
 
-        private EnPassantMove(final Board board, final Piece movedPiece, final int destinationCoord, final Piece attackedPiece) {
+        public EnPassantMove(final Board board, final Piece movedPiece, final int destinationCoord, final Piece attackedPiece) {
             super(board, movedPiece, destinationCoord, attackedPiece);
         }
 
@@ -138,26 +181,86 @@ public class Move {
 
     public static final class PawnJump extends Move {
 
-        private PawnJump(final Board board, final Piece movedPiece, final int destinationCoord) {
+        public PawnJump(final Board board, final Piece movedPiece, final int destinationCoord) {
             super(board, movedPiece, destinationCoord);
         }
 
         public Board execute(){
-            final Board.Builder boardBuilder = new Board.Builder();
-            for(final Piece piece: this.board.currentPlayer().getActivePieces()){
-                if(!this.movedPiece.equals(piece)){
-                    boardBuilder.setPiece(piece);
-                }
-            }
-            for (final Piece piece: this.board.currentPlayer().getOpponent().getActivePieces()){
-                boardBuilder.setPiece(piece);
-            }
+            final Board.Builder boardBuilder = new Board.Builder(this.board);
+            boardBuilder.clearPiece(getCurrentCoordinate());
             final Pawn movedPawn = (Pawn)this.movedPiece.movePiece(this);
             boardBuilder.setPiece(movedPawn);
             boardBuilder.setEnPassantPawn(movedPawn);
+            advanceMoveClocks(boardBuilder);
             boardBuilder.setMoveMaker(this.board.currentPlayer().getOpponent().getAlliance());
+            boardBuilder.setZobristKey(calculateZobristKey());
             return boardBuilder.build();
         }
+
+        @Override
+        long calculateZobristKey() {
+            return super.calculateZobristKey() ^ Zobrist.enPassantKey((getCurrentCoordinate() + this.destinationCoord) / 2);
+        }
+    }
+
+    public static final class PawnPromotion extends Move {
+        final Move decoratedMove;
+        final Piece.PieceType promotionType;
+
+        public PawnPromotion(final Move decoratedMove, final Piece.PieceType promotionType) {
+            super(decoratedMove.board, decoratedMove.getMovedPiece(), decoratedMove.getDestinationCoordinate());
+            this.decoratedMove = decoratedMove;
+            this.promotionType = promotionType;
+        }
+
+        @Override
+        public boolean isAttack(){
+            return this.decoratedMove.isAttack();
+        }
+
+        @Override
+        public Piece getAttackedPiece(){
+            return this.decoratedMove.getAttackedPiece();
+        }
+
+        @Override
+        public Piece.PieceType getPromotionType(){
+            return this.promotionType;
+        }
+
+        @Override
+        Piece createMovedPiece() {
+            return Piece.createPiece(this.promotionType, this.destinationCoord, this.movedPiece.getPieceAlliance(), false);
+        }
+
+        @Override
+        long calculateZobristKey() {
+            return super.calculateZobristKey() ^
+                    Zobrist.pieceKey(this.movedPiece, this.destinationCoord) ^
+                    Zobrist.pieceKey(BitBoard.pieceIndex(this.movedPiece.getPieceAlliance(), this.promotionType), this.destinationCoord);
+        }
+
+        @Override
+        public int hashCode(){
+            return 31 * this.decoratedMove.hashCode() + this.promotionType.hashCode();
+        }
+
+        @Override
+        public boolean equals(final Object other){
+            if (this == other){
+                return true;
+            }
+            if (!(other instanceof PawnPromotion)) {
+                return false;
+            }
+            final PawnPromotion otherPromotion = (PawnPromotion) other;
+            return this.decoratedMove.equals(otherPromotion.decoratedMove) && this.promotionType == otherPromotion.promotionType;
+        }
+
+        @Override
+        public String toString() {
+            return super.toString() + this.promotionType.toString().toLowerCase();
+        }
     }
 
     static abstract class CastleMove extends Move{
@@ -180,20 +283,23 @@ public class Move {
         }
 
         public Board execute(){
-            final Board.Builder boardBuilder = new Board.Builder();
-            for(final Piece piece: this.board.currentPlayer().getActivePieces()){
-                if(!this.movedPiece.equals(piece) && !this.castleRook.equals(piece)){
-                    boardBuilder.setPiece(piece);
-                }
-            }
-            for (final Piece piece: this.board.currentPlayer().getOpponent().getActivePieces()){
-                boardBuilder.setPiece(piece);
-            }
+            final Board.Builder boardBuilder = new Board.Builder(this.board);
+            boardBuilder.clearPiece(getCurrentCoordinate());
+            boardBuilder.clearPiece(this.castleRookStartingPosition);
             boardBuilder.setPiece(this.movedPiece.movePiece(this));
-            boardBuilder.setPiece(new Rook(this.castleRookDestination, this.castleRook.getPieceAlliance()));
+            boardBuilder.setPiece(Piece.createPiece(Piece.PieceType.Rook, this.castleRookDestination, this.castleRook.getPieceAlliance(), false));
+            advanceMoveClocks(boardBuilder);
             boardBuilder.setMoveMaker(this.board.currentPlayer().getOpponent().getAlliance());
+            boardBuilder.setZobristKey(calculateZobristKey());
             return boardBuilder.build();
         }
+
+        @Override
+        long calculateZobristKey() {
+            return super.calculateZobristKey() ^
+                    Zobrist.pieceKey(this.castleRook, this.castleRookStartingPosition) ^
+                    Zobrist.pieceKey(this.castleRook, this.castleRookDestination);
+        }
     }
 
     public static final class CastleKingSide extends CastleMove {
@@ -223,6 +329,16 @@ public class Move {
             super(null, null, -1);
         }
 
+        @Override
+        public int getCurrentCoordinate() {
+            return -1;
+        }
+
+        @Override
+        public String toString() {
+            return "null";
+        }
+
         public Board execute() {
             throw new RuntimeException("cannot execute null move");
         }
@@ -234,12 +350,15 @@ public class Move {
         }
 
         public static Move createMove(final Board board, final int currentCoordinate, final int destinationCoord){
-            for (final Move move : board.getAllLegalMoves()) {
-                if(move.getCurrentCoordinate() == currentCoordinate && move.destinationCoord == destinationCoord) {
-                    return move;
-                }
-            }
-            return NullMove;
+            final Move move = createMove(board, currentCoordinate, destinationCoord, null);
+            return move != NullMove ? move : createMove(board, currentCoordinate, destinationCoord, Piece.PieceType.Queen);
+        }
+
+        public static Move createMove(final Board board, final int currentCoordinate, final int destinationCoord,
+                                      final Piece.PieceType promotionType){
+            final int moveKey = createMoveKey(currentCoordinate, destinationCoord, promotionType);
+            final Move move = board.currentPlayer().getLegalMove(moveKey);
+            return move != NullMove ? move : board.currentPlayer().getOpponent().getLegalMove(moveKey);
         }
     }
 }
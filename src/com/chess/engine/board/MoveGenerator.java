@@ -0,0 +1,284 @@
+package com.chess.engine.board;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.pieces.Piece;
+
+/*
+ * Generates packed moves for a SearchBoard straight from its bitboards.
+ * generateMoves emits pseudo-legal moves (the mover's king may be left in
+ * check). generateLegalMoves emits only legal moves without trying any of
+ * them: the checkers and the pinned pieces are found once per position, a
+ * check limits the other pieces to capturing or blocking the checker, pinned
+ * pieces stay on the line through their king, and the king only steps to
+ * squares that are not attacked once it has left its own square.
+ * Both append to the caller's list, so callers keep one list per ply and
+ * generating moves allocates nothing.
+ */
+public class MoveGenerator {
+
+    private static final int[] PromotionKinds = {
+            SearchBoard.QueenPromotionMove, SearchBoard.RookPromotionMove,
+            SearchBoard.BishopPromotionMove, SearchBoard.KnightPromotionMove
+    };
+
+    private static final int NoisyMoves = 1;
+    private static final int QuietMoves = 2;
+    private static final int AllMoves = NoisyMoves | QuietMoves;
+
+    private MoveGenerator() {
+        throw new RuntimeException("No instantiation");
+    }
+
+    public static void generateMoves(final SearchBoard board, final MoveList moves) {
+        generate(board, moves, false, AllMoves, BitBoard.Full);
+    }
+
+    public static void generateLegalMoves(final SearchBoard board, final MoveList moves) {
+        generate(board, moves, true, AllMoves, BitBoard.Full);
+    }
+
+    /* captures, en passant and promotions */
+    public static void generateLegalNoisyMoves(final SearchBoard board, final MoveList moves) {
+        generate(board, moves, true, NoisyMoves, BitBoard.Full);
+    }
+
+    /* everything generateLegalNoisyMoves leaves out, castling included */
+    public static void generateLegalQuietMoves(final SearchBoard board, final MoveList moves) {
+        generate(board, moves, true, QuietMoves, BitBoard.Full);
+    }
+
+    public static void generateLegalMovesFrom(final SearchBoard board, final int square, final MoveList moves) {
+        generate(board, moves, true, AllMoves, BitBoard.squareBit(square));
+    }
+
+    /* the legal move matching a move remembered from another position, such as a hash or killer move, or NoMove */
+    public static int findLegalMove(final SearchBoard board, final int move, final MoveList scratch) {
+        final int source = PackedMove.source(move);
+        if (board.getPieceAt(source) == SearchBoard.NoPiece ||
+                SearchBoard.pieceAlliance(board.getPieceAt(source)) != board.getSideToMove()) {
+            return PackedMove.NoMove;
+        }
+        scratch.clear();
+        generateLegalMovesFrom(board, source, scratch);
+        for (int i = 0; i < scratch.size(); i++) {
+            if (PackedMove.identity(scratch.get(i)) == PackedMove.identity(move)) {
+                return scratch.get(i);
+            }
+        }
+        return PackedMove.NoMove;
+    }
+
+    public static boolean isLegal(final SearchBoard board, final int move) {
+        final Alliance mover = board.getSideToMove();
+        board.makeMove(move);
+        final boolean legal = !board.isInCheck(mover);
+        board.unmakeMove();
+        return legal;
+    }
+
+    private static void generate(final SearchBoard board, final MoveList moves, final boolean legalOnly,
+                                 final int moveTypes, final long sources) {
+        final Alliance us = board.getSideToMove();
+        final Alliance them = opponentOf(us);
+        final long own = board.getAllianceOccupancy(us);
+        final long occupancy = board.getOccupancy();
+        final long king = board.getPieceBitBoard(us, Piece.PieceType.King);
+        final boolean checkLegality = legalOnly && king != BitBoard.Empty;
+        final int kingSquare = checkLegality ? BitBoard.firstSquare(king) : SearchBoard.NoSquare;
+        final long typeTargets = ((moveTypes & NoisyMoves) != 0 ? board.getAllianceOccupancy(them) : BitBoard.Empty) |
+                ((moveTypes & QuietMoves) != 0 ? ~occupancy : BitBoard.Empty);
+
+        long targets = ~own;
+        long pinned = BitBoard.Empty;
+        long checkers = BitBoard.Empty;
+        if (checkLegality) {
+            checkers = board.attackersTo(kingSquare, them);
+            if (BitBoard.count(checkers) > 1) {
+                if ((king & sources) != BitBoard.Empty) {
+                    generateKingMoves(board, us, own, occupancy, kingSquare, typeTargets, moves);
+                }
+                return;
+            }
+            if (checkers != BitBoard.Empty) {
+                targets = checkers | AttackTables.between(kingSquare, BitBoard.firstSquare(checkers));
+            }
+            pinned = pinnedPieces(board, us, kingSquare, own, occupancy);
+        }
+
+        generatePawnMoves(board, us, occupancy, targets, pinned, kingSquare, moveTypes, sources, moves);
+        generatePieceMoves(board, us, Piece.PieceType.Knight, occupancy, targets & typeTargets, pinned, kingSquare, sources, moves);
+        generatePieceMoves(board, us, Piece.PieceType.Bishop, occupancy, targets & typeTargets, pinned, kingSquare, sources, moves);
+        generatePieceMoves(board, us, Piece.PieceType.Rook, occupancy, targets & typeTargets, pinned, kingSquare, sources, moves);
+        generatePieceMoves(board, us, Piece.PieceType.Queen, occupancy, targets & typeTargets, pinned, kingSquare, sources, moves);
+        if (checkLegality) {
+            if ((king & sources) != BitBoard.Empty) {
+                generateKingMoves(board, us, own, occupancy, kingSquare, typeTargets, moves);
+            }
+        } else {
+            generatePieceMoves(board, us, Piece.PieceType.King, occupancy, targets & typeTargets, pinned, kingSquare, sources, moves);
+        }
+        if (checkers == BitBoard.Empty && (moveTypes & QuietMoves) != 0 && (king & sources) != BitBoard.Empty) {
+            generateCastles(board, us, occupancy, moves);
+        }
+    }
+
+    private static long pinnedPieces(final SearchBoard board, final Alliance us, final int kingSquare,
+                                     final long own, final long occupancy) {
+        final Alliance them = opponentOf(us);
+        final long queens = board.getPieceBitBoard(them, Piece.PieceType.Queen);
+        long snipers = (SlidingAttacks.rookAttacks(kingSquare, BitBoard.Empty) & (board.getPieceBitBoard(them, Piece.PieceType.Rook) | queens)) |
+                (SlidingAttacks.bishopAttacks(kingSquare, BitBoard.Empty) & (board.getPieceBitBoard(them, Piece.PieceType.Bishop) | queens));
+        long pinned = BitBoard.Empty;
+        for (; snipers != BitBoard.Empty; snipers = BitBoard.clearFirstSquare(snipers)) {
+            final long blockers = AttackTables.between(kingSquare, BitBoard.firstSquare(snipers)) & occupancy;
+            if (BitBoard.count(blockers) == 1) {
+                pinned |= blockers & own;
+            }
+        }
+        return pinned;
+    }
+
+    private static long pinMask(final int source, final long pinned, final int kingSquare) {
+        return BitBoard.isSet(pinned, source) ? AttackTables.line(kingSquare, source) : BitBoard.Full;
+    }
+
+    private static void generatePawnMoves(final SearchBoard board, final Alliance us, final long occupancy, final long targets,
+                                          final long pinned, final int kingSquare, final int moveTypes, final long sources,
+                                          final MoveList moves) {
+        final int pawn = BitBoard.pieceIndex(us, Piece.PieceType.Pawn);
+        final long enemy = board.getAllianceOccupancy(opponentOf(us));
+        final long startRank = us.isWhite() ? BitBoard.SecondRank : BitBoard.SeventhRank;
+        final long promotionRanks = BitBoard.EighthRank | BitBoard.FirstRank;
+        final boolean noisy = (moveTypes & NoisyMoves) != 0;
+        final boolean quiet = (moveTypes & QuietMoves) != 0;
+        final int step = us.getDirection() * 8;
+        final int enPassantSquare = board.getEnPassantSquare();
+        for (long pawns = board.getPieceBitBoard(us, Piece.PieceType.Pawn) & sources; pawns != BitBoard.Empty; pawns = BitBoard.clearFirstSquare(pawns)) {
+            final int source = BitBoard.firstSquare(pawns);
+            final long allowed = targets & pinMask(source, pinned, kingSquare);
+            final int forward = source + step;
+            if (!BitBoard.isSet(occupancy, forward)) {
+                final boolean promotes = BitBoard.isSet(promotionRanks, forward);
+                if (BitBoard.isSet(allowed, forward) && (promotes ? noisy : quiet)) {
+                    addPawnMove(source, forward, pawn, SearchBoard.NoPiece, moves);
+                }
+                final int jump = forward + step;
+                if (quiet && BitBoard.isSet(startRank, source) && !BitBoard.isSet(occupancy, jump) && BitBoard.isSet(allowed, jump)) {
+                    moves.add(PackedMove.create(source, jump, SearchBoard.PawnJumpMove, pawn, SearchBoard.NoPiece));
+                }
+            }
+            if (!noisy) {
+                continue;
+            }
+            final long attacks = AttackTables.pawnAttacks(us, source);
+            for (long captures = attacks & enemy & allowed; captures != BitBoard.Empty; captures = BitBoard.clearFirstSquare(captures)) {
+                final int destination = BitBoard.firstSquare(captures);
+                addPawnMove(source, destination, pawn, board.getPieceAt(destination), moves);
+            }
+            if (enPassantSquare != SearchBoard.NoSquare && BitBoard.isSet(attacks, enPassantSquare) &&
+                    (kingSquare == SearchBoard.NoSquare || isLegalEnPassant(board, us, kingSquare, source, enPassantSquare, occupancy))) {
+                moves.add(PackedMove.create(source, enPassantSquare, SearchBoard.EnPassantMove, pawn,
+                        board.getPieceAt(enPassantSquare - step)));
+            }
+        }
+    }
+
+    /* en passant empties two squares on one rank at once, so it is checked directly against the board it leaves */
+    private static boolean isLegalEnPassant(final SearchBoard board, final Alliance us, final int kingSquare,
+                                            final int source, final int enPassantSquare, final long occupancy) {
+        final Alliance them = opponentOf(us);
+        final long capturedPawn = BitBoard.squareBit(enPassantSquare - (us.getDirection() * 8));
+        final long occupancyAfter = (occupancy ^ BitBoard.squareBit(source) ^ capturedPawn) | BitBoard.squareBit(enPassantSquare);
+        final long queens = board.getPieceBitBoard(them, Piece.PieceType.Queen);
+        final long sliders = (SlidingAttacks.bishopAttacks(kingSquare, occupancyAfter) & (board.getPieceBitBoard(them, Piece.PieceType.Bishop) | queens)) |
+                (SlidingAttacks.rookAttacks(kingSquare, occupancyAfter) & (board.getPieceBitBoard(them, Piece.PieceType.Rook) | queens));
+        final long steppers = (AttackTables.KnightAttacks[kingSquare] & board.getPieceBitBoard(them, Piece.PieceType.Knight)) |
+                (AttackTables.pawnAttacks(us, kingSquare) & board.getPieceBitBoard(them, Piece.PieceType.Pawn) & ~capturedPawn);
+        return (sliders | steppers) == BitBoard.Empty;
+    }
+
+    private static void addPawnMove(final int source, final int destination, final int pawn,
+                                    final int capturedPiece, final MoveList moves) {
+        if (destination < 8 || destination >= 56) {
+            for (final int promotionKind : PromotionKinds) {
+                moves.add(PackedMove.create(source, destination, promotionKind, pawn, capturedPiece));
+            }
+        } else {
+            moves.add(PackedMove.create(source, destination, SearchBoard.QuietMove, pawn, capturedPiece));
+        }
+    }
+
+    private static void generatePieceMoves(final SearchBoard board, final Alliance us, final Piece.PieceType pieceType,
+                                           final long occupancy, final long targets, final long pinned,
+                                           final int kingSquare, final long sources, final MoveList moves) {
+        final int piece = BitBoard.pieceIndex(us, pieceType);
+        for (long pieces = board.getPieceBitBoard(us, pieceType) & sources; pieces != BitBoard.Empty; pieces = BitBoard.clearFirstSquare(pieces)) {
+            final int source = BitBoard.firstSquare(pieces);
+            final long destinations = attacks(pieceType, source, occupancy) & targets & pinMask(source, pinned, kingSquare);
+            for (long squares = destinations; squares != BitBoard.Empty; squares = BitBoard.clearFirstSquare(squares)) {
+                final int destination = BitBoard.firstSquare(squares);
+                moves.add(PackedMove.create(source, destination, SearchBoard.QuietMove, piece, board.getPieceAt(destination)));
+            }
+        }
+    }
+
+    private static void generateKingMoves(final SearchBoard board, final Alliance us, final long own, final long occupancy,
+                                          final int kingSquare, final long typeTargets, final MoveList moves) {
+        final int king = BitBoard.pieceIndex(us, Piece.PieceType.King);
+        final Alliance them = opponentOf(us);
+        final long occupancyWithoutKing = occupancy ^ BitBoard.squareBit(kingSquare);
+        for (long squares = AttackTables.KingAttacks[kingSquare] & ~own & typeTargets; squares != BitBoard.Empty; squares = BitBoard.clearFirstSquare(squares)) {
+            final int destination = BitBoard.firstSquare(squares);
+            if (!board.isSquareAttacked(destination, them, occupancyWithoutKing)) {
+                moves.add(PackedMove.create(kingSquare, destination, SearchBoard.QuietMove, king, board.getPieceAt(destination)));
+            }
+        }
+    }
+
+    private static long attacks(final Piece.PieceType pieceType, final int square, final long occupancy) {
+        switch (pieceType) {
+            case Knight:
+                return AttackTables.KnightAttacks[square];
+            case Bishop:
+                return SlidingAttacks.bishopAttacks(square, occupancy);
+            case Rook:
+                return SlidingAttacks.rookAttacks(square, occupancy);
+            case Queen:
+                return SlidingAttacks.queenAttacks(square, occupancy);
+            case King:
+                return AttackTables.KingAttacks[square];
+            default:
+                throw new RuntimeException("No attack table for " + pieceType);
+        }
+    }
+
+    private static void generateCastles(final SearchBoard board, final Alliance us, final long occupancy, final MoveList moves) {
+        final int rights = board.getCastlingRights();
+        final int kingStart = us.isWhite() ? CastlingRights.WhiteKingStart : CastlingRights.BlackKingStart;
+        final int kingSide = us.isWhite() ? CastlingRights.WhiteKingSide : CastlingRights.BlackKingSide;
+        final int queenSide = us.isWhite() ? CastlingRights.WhiteQueenSide : CastlingRights.BlackQueenSide;
+        if ((rights & (kingSide | queenSide)) == 0) {
+            return;
+        }
+        final Alliance them = opponentOf(us);
+        if (board.isSquareAttacked(kingStart, them)) {
+            return;
+        }
+        final int king = BitBoard.pieceIndex(us, Piece.PieceType.King);
+        if ((rights & kingSide) != 0 &&
+                !BitBoard.isSet(occupancy, kingStart + 1) && !BitBoard.isSet(occupancy, kingStart + 2) &&
+                !board.isSquareAttacked(kingStart + 1, them) && !board.isSquareAttacked(kingStart + 2, them)) {
+            moves.add(PackedMove.create(kingStart, kingStart + 2, SearchBoard.CastleKingSideMove, king, SearchBoard.NoPiece));
+        }
+        if ((rights & queenSide) != 0 &&
+                !BitBoard.isSet(occupancy, kingStart - 1) && !BitBoard.isSet(occupancy, kingStart - 2) &&
+                !BitBoard.isSet(occupancy, kingStart - 3) &&
+                !board.isSquareAttacked(kingStart - 1, them) && !board.isSquareAttacked(kingStart - 2, them)) {
+            moves.add(PackedMove.create(kingStart, kingStart - 2, SearchBoard.CastleQueenSideMove, king, SearchBoard.NoPiece));
+        }
+    }
+
+    private static Alliance opponentOf(final Alliance alliance) {
+        return alliance.isWhite() ? Alliance.Black : Alliance.White;
+    }
+}
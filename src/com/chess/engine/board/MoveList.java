@@ -0,0 +1,65 @@
+package com.chess.engine.board;
+
+/*
+ * Fixed-capacity list of packed moves backed by a primitive array. No chess
+ * position has more than 218 legal moves, so MaxMoves also covers every
+ * pseudo-legal move list.
+ */
+public class MoveList {
+
+    public static final int MaxMoves = 256;
+
+    private final int[] moves;
+    private int size;
+
+    public MoveList() {
+        this.moves = new int[MaxMoves];
+        this.size = 0;
+    }
+
+    public void add(final int move) {
+        this.moves[this.size++] = move;
+    }
+
+    public int get(final int index) {
+        return this.moves[index];
+    }
+
+    public void set(final int index, final int move) {
+        this.moves[index] = move;
+    }
+
+    public void swap(final int first, final int second) {
+        final int move = this.moves[first];
+        this.moves[first] = this.moves[second];
+        this.moves[second] = move;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    public void truncate(final int size) {
+        this.size = Math.min(this.size, size);
+    }
+
+    public void clear() {
+        this.size = 0;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder("[");
+        for (int i = 0; i < this.size; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append(PackedMove.toString(this.moves[i]));
+        }
+        return builder.append("]").toString();
+    }
+}
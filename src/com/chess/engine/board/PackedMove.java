@@ -0,0 +1,89 @@
+package com.chess.engine.board;
+
+import com.chess.engine.pieces.Piece;
+
+/*
+ * Moves packed into a single int for move generation and search, so that the
+ * search tree never allocates Move objects. The low 16 bits identify the move
+ * (source, destination and SearchBoard move kind, which carries the promotion
+ * piece) and are what the transposition table stores; the upper bits record
+ * the moving and captured piece types for move ordering.
+ *
+ * Layout: bits 0-5 source, 6-11 destination, 12-15 move kind,
+ * 16-18 moved piece type, 19-21 captured piece type + 1 (0 when quiet).
+ *
+ * Conversion to the Move classes happens only at the Board boundary.
+ */
+public class PackedMove {
+
+    public static final int NoMove = 0;
+
+    private static final Piece.PieceType[] PieceTypes = Piece.PieceType.values();
+
+    private PackedMove() {
+        throw new RuntimeException("No instantiation");
+    }
+
+    public static int create(final int source, final int destination, final int moveKind,
+                             final int movedPiece, final int capturedPiece) {
+        return source |
+                (destination << 6) |
+                (moveKind << 12) |
+                ((movedPiece % BitBoard.PieceTypes) << 16) |
+                ((capturedPiece == SearchBoard.NoPiece ? 0 : (capturedPiece % BitBoard.PieceTypes) + 1) << 19);
+    }
+
+    public static int source(final int move) {
+        return move & 0x3F;
+    }
+
+    public static int destination(final int move) {
+        return (move >>> 6) & 0x3F;
+    }
+
+    public static int moveKind(final int move) {
+        return (move >>> 12) & 0xF;
+    }
+
+    public static int identity(final int move) {
+        return move & 0xFFFF;
+    }
+
+    public static Piece.PieceType movedType(final int move) {
+        return PieceTypes[(move >>> 16) & 0x7];
+    }
+
+    public static boolean isCapture(final int move) {
+        return ((move >>> 19) & 0x7) != 0;
+    }
+
+    public static boolean isNoisy(final int move) {
+        return isCapture(move) || isPromotion(move);
+    }
+
+    public static Piece.PieceType capturedType(final int move) {
+        final int captured = (move >>> 19) & 0x7;
+        return captured == 0 ? null : PieceTypes[captured - 1];
+    }
+
+    public static boolean isPromotion(final int move) {
+        return SearchBoard.isPromotion(moveKind(move));
+    }
+
+    public static Piece.PieceType promotionType(final int move) {
+        return isPromotion(move) ? SearchBoard.promotionType(moveKind(move)) : null;
+    }
+
+    public static Move toMove(final Board board, final int move) {
+        return board.currentPlayer().getLegalMove(Move.createMoveKey(source(move), destination(move), promotionType(move)));
+    }
+
+    public static String toString(final int move) {
+        if (move == NoMove) {
+            return "null";
+        }
+        final String text = BoardFunctions.getPositionAtCoordinate(source(move)) +
+                BoardFunctions.getPositionAtCoordinate(destination(move));
+        return isPromotion(move) ? text + promotionType(move).toString().toLowerCase() : text;
+    }
+}
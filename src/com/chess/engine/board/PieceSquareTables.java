@@ -0,0 +1,176 @@
+package com.chess.engine.board;
+
+import com.chess.engine.pieces.Piece;
+
+/*
+ * Material plus piece-square bonuses for the middlegame and the endgame, as
+ * seen by White with a8 first; Black reads the same tables mirrored. Both
+ * scores are kept as White minus Black and blended by the game phase, which
+ * falls from MaxPhase with every minor and major piece that leaves the board.
+ * Each entry already includes the piece's material, so adding or removing a
+ * piece changes the score by a single table read.
+ */
+public class PieceSquareTables {
+
+    public static final int MaxPhase = 24;
+
+    private static final int[] PhaseWeights = new int[BitBoard.PieceTypes];
+
+    private static final int[] PawnTable = {
+             0,   0,   0,   0,   0,   0,   0,   0,
+            50,  50,  50,  50,  50,  50,  50,  50,
+            10,  10,  20,  30,  30,  20,  10,  10,
+             5,   5,  10,  25,  25,  10,   5,   5,
+             0,   0,   0,  20,  20,   0,   0,   0,
+             5,  -5, -10,   0,   0, -10,  -5,   5,
+             5,  10,  10, -20, -20,  10,  10,   5,
+             0,   0,   0,   0,   0,   0,   0,   0
+    };
+
+    private static final int[] PawnEndgameTable = {
+             0,   0,   0,   0,   0,   0,   0,   0,
+            80,  80,  80,  80,  80,  80,  80,  80,
+            50,  50,  50,  50,  50,  50,  50,  50,
+            30,  30,  30,  30,  30,  30,  30,  30,
+            20,  20,  20,  20,  20,  20,  20,  20,
+            10,  10,  10,  10,  10,  10,  10,  10,
+            10,  10,  10,  10,  10,  10,  10,  10,
+             0,   0,   0,   0,   0,   0,   0,   0
+    };
+
+    private static final int[] KnightTable = {
+           -50, -40, -30, -30, -30, -30, -40, -50,
+           -40, -20,   0,   0,   0,   0, -20, -40,
+           -30,   0,  10,  15,  15,  10,   0, -30,
+           -30,   5,  15,  20,  20,  15,   5, -30,
+           -30,   0,  15,  20,  20,  15,   0, -30,
+           -30,   5,  10,  15,  15,  10,   5, -30,
+           -40, -20,   0,   5,   5,   0, -20, -40,
+           -50, -40, -30, -30, -30, -30, -40, -50
+    };
+
+    private static final int[] BishopTable = {
+           -20, -10, -10, -10, -10, -10, -10, -20,
+           -10,   0,   0,   0,   0,   0,   0, -10,
+           -10,   0,   5,  10,  10,   5,   0, -10,
+           -10,   5,   5,  10,  10,   5,   5, -10,
+           -10,   0,  10,  10,  10,  10,   0, -10,
+           -10,  10,  10,  10,  10,  10,  10, -10,
+           -10,   5,   0,   0,   0,   0,   5, -10,
+           -20, -10, -10, -10, -10, -10, -10, -20
+    };
+
+    private static final int[] RookTable = {
+             0,   0,   0,   0,   0,   0,   0,   0,
+             5,  10,  10,  10,  10,  10,  10,   5,
+            -5,   0,   0,   0,   0,   0,   0,  -5,
+            -5,   0,   0,   0,   0,   0,   0,  -5,
+            -5,   0,   0,   0,   0,   0,   0,  -5,
+            -5,   0,   0,   0,   0,   0,   0,  -5,
+            -5,   0,   0,   0,   0,   0,   0,  -5,
+             0,   0,   0,   5,   5,   0,   0,   0
+    };
+
+    private static final int[] QueenTable = {
+           -20, -10, -10,  -5,  -5, -10, -10, -20,
+           -10,   0,   0,   0,   0,   0,   0, -10,
+           -10,   0,   5,   5,   5,   5,   0, -10,
+            -5,   0,   5,   5,   5,   5,   0,  -5,
+             0,   0,   5,   5,   5,   5,   0,  -5,
+           -10,   5,   5,   5,   5,   5,   0, -10,
+           -10,   0,   5,   0,   0,   0,   0, -10,
+           -20, -10, -10,  -5,  -5, -10, -10, -20
+    };
+
+    private static final int[] KingTable = {
+           -30, -40, -40, -50, -50, -40, -40, -30,
+           -30, -40, -40, -50, -50, -40, -40, -30,
+           -30, -40, -40, -50, -50, -40, -40, -30,
+           -30, -40, -40, -50, -50, -40, -40, -30,
+           -20, -30, -30, -40, -40, -30, -30, -20,
+           -10, -20, -20, -20, -20, -20, -20, -10,
+            20,  20,   0,   0,   0,   0,  20,  20,
+            20,  30,  10,   0,   0,  10,  30,  20
+    };
+
+    private static final int[] KingEndgameTable = {
+           -50, -40, -30, -20, -20, -30, -40, -50,
+           -30, -20, -10,   0,   0, -10, -20, -30,
+           -30, -10,  20,  30,  30,  20, -10, -30,
+           -30, -10,  30,  40,  40,  30, -10, -30,
+           -30, -10,  30,  40,  40,  30, -10, -30,
+           -30, -10,  20,  30,  30,  20, -10, -30,
+           -30, -30,   0,   0,   0,   0, -30, -30,
+           -50, -30, -30, -30, -30, -30, -30, -50
+    };
+
+    private static final int[][] MiddlegameScores = new int[BitBoard.PieceIndexes][64];
+    private static final int[][] EndgameScores = new int[BitBoard.PieceIndexes][64];
+
+    static {
+        PhaseWeights[Piece.PieceType.Knight.ordinal()] = 1;
+        PhaseWeights[Piece.PieceType.Bishop.ordinal()] = 1;
+        PhaseWeights[Piece.PieceType.Rook.ordinal()] = 2;
+        PhaseWeights[Piece.PieceType.Queen.ordinal()] = 4;
+        for (final Piece.PieceType pieceType : Piece.PieceType.values()) {
+            final int material = pieceType.isKing() ? 0 : pieceType.getPieceValue();
+            final int white = pieceType.ordinal();
+            final int black = BitBoard.PieceTypes + pieceType.ordinal();
+            for (int square = 0; square < 64; square++) {
+                MiddlegameScores[white][square] = material + middlegameTable(pieceType)[square];
+                EndgameScores[white][square] = material + endgameTable(pieceType)[square];
+                MiddlegameScores[black][square] = -(material + middlegameTable(pieceType)[square ^ 56]);
+                EndgameScores[black][square] = -(material + endgameTable(pieceType)[square ^ 56]);
+            }
+        }
+    }
+
+    private PieceSquareTables() {
+        throw new RuntimeException("No instantiation");
+    }
+
+    public static int middlegameScore(final int pieceIndex, final int square) {
+        return MiddlegameScores[pieceIndex][square];
+    }
+
+    public static int endgameScore(final int pieceIndex, final int square) {
+        return EndgameScores[pieceIndex][square];
+    }
+
+    public static int phase(final int pieceIndex) {
+        return PhaseWeights[pieceIndex % BitBoard.PieceTypes];
+    }
+
+    public static int taper(final int middlegameScore, final int endgameScore, final int phase) {
+        final int middlegamePhase = Math.min(phase, MaxPhase);
+        return (middlegameScore * middlegamePhase + endgameScore * (MaxPhase - middlegamePhase)) / MaxPhase;
+    }
+
+    private static int[] middlegameTable(final Piece.PieceType pieceType) {
+        switch (pieceType) {
+            case Pawn:
+                return PawnTable;
+            case Knight:
+                return KnightTable;
+            case Bishop:
+                return BishopTable;
+            case Rook:
+                return RookTable;
+            case Queen:
+                return QueenTable;
+            default:
+                return KingTable;
+        }
+    }
+
+    private static int[] endgameTable(final Piece.PieceType pieceType) {
+        switch (pieceType) {
+            case Pawn:
+                return PawnEndgameTable;
+            case King:
+                return KingEndgameTable;
+            default:
+                return middlegameTable(pieceType);
+        }
+    }
+}
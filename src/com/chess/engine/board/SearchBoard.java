@@ -0,0 +1,386 @@
+package com.chess.engine.board;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.pieces.*;
+
+import java.util.Arrays;
+
+/*
+ * Mutable position for search. Moves are applied in place with makeMove and
+ * reverted with unmakeMove; everything needed to revert a move is packed into
+ * a single long on the undo stack, so walking the tree allocates nothing.
+ * The immutable Board remains the representation used by the GUI and players.
+ */
+public class SearchBoard {
+
+    public static final int NoPiece = -1;
+    public static final int NoSquare = BoardFunctions.NoSquare;
+
+    public static final int QuietMove = 0;
+    public static final int PawnJumpMove = 1;
+    public static final int EnPassantMove = 2;
+    public static final int CastleKingSideMove = 3;
+    public static final int CastleQueenSideMove = 4;
+    public static final int KnightPromotionMove = 5;
+    public static final int BishopPromotionMove = 6;
+    public static final int RookPromotionMove = 7;
+    public static final int QueenPromotionMove = 8;
+
+    private static final Alliance[] Alliances = Alliance.values();
+    private static final Piece.PieceType[] PieceTypes = Piece.PieceType.values();
+
+    private static final int PawnType = Piece.PieceType.Pawn.ordinal();
+
+    private static final int InitialUndoCapacity = 64;
+
+    private final long[] pieceBitBoards;
+    private final long[] allianceOccupancy;
+    private final int[] squares;
+    private Alliance sideToMove;
+    private int castlingRights;
+    private int enPassantSquare;
+    private int halfMoveClock;
+    private final int rootPly;
+    private long zobristKey;
+    private long pawnKey;
+    private int middlegameScore;
+    private int endgameScore;
+    private int phase;
+
+    private long[] undoStack;
+    private long[] keyHistory;
+    private int undoCount;
+
+    public SearchBoard(final Board board) {
+        this.pieceBitBoards = new long[BitBoard.PieceIndexes];
+        this.allianceOccupancy = new long[Alliances.length];
+        this.squares = new int[64];
+        Arrays.fill(this.squares, NoPiece);
+        for (int square = 0; square < 64; square++) {
+            final Square boardSquare = board.getSquare(square);
+            if (boardSquare.isOccupied()) {
+                final Piece piece = boardSquare.getPiece();
+                addPiece(BitBoard.pieceIndex(piece.getPieceAlliance(), piece.getPieceType()), square);
+            }
+        }
+        this.sideToMove = board.currentPlayer().getAlliance();
+        this.castlingRights = board.getCastlingRights();
+        this.enPassantSquare = board.getEnPassantSquare();
+        this.halfMoveClock = board.getHalfMoveClock();
+        this.rootPly = (board.getFullMoveNumber() - 1) * 2 + (this.sideToMove.isBlack() ? 1 : 0);
+        this.zobristKey = board.getZobristKey();
+        this.undoStack = new long[InitialUndoCapacity];
+        this.keyHistory = new long[InitialUndoCapacity];
+        this.undoCount = 0;
+    }
+
+    public Alliance getSideToMove() {
+        return this.sideToMove;
+    }
+
+    public int getCastlingRights() {
+        return this.castlingRights;
+    }
+
+    public int getEnPassantSquare() {
+        return this.enPassantSquare;
+    }
+
+    public int getHalfMoveClock() {
+        return this.halfMoveClock;
+    }
+
+    public int getFullMoveNumber() {
+        return (this.rootPly + this.undoCount) / 2 + 1;
+    }
+
+    public long getZobristKey() {
+        return this.zobristKey;
+    }
+
+    public long getPawnKey() {
+        return this.pawnKey;
+    }
+
+    /* material and piece-square score for White minus Black, kept up to date by every piece added or removed */
+    public int getMiddlegameScore() {
+        return this.middlegameScore;
+    }
+
+    public int getEndgameScore() {
+        return this.endgameScore;
+    }
+
+    public int getPhase() {
+        return this.phase;
+    }
+
+    public boolean isRepetition() {
+        final int oldest = Math.max(0, this.undoCount - this.halfMoveClock);
+        for (int i = this.undoCount - 2; i >= oldest; i -= 2) {
+            if (this.keyHistory[i] == this.zobristKey) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int getPieceAt(final int square) {
+        return this.squares[square];
+    }
+
+    public long getPieceBitBoard(final Alliance alliance, final Piece.PieceType pieceType) {
+        return this.pieceBitBoards[BitBoard.pieceIndex(alliance, pieceType)];
+    }
+
+    public long getAllianceOccupancy(final Alliance alliance) {
+        return this.allianceOccupancy[alliance.ordinal()];
+    }
+
+    public long getOccupancy() {
+        return this.allianceOccupancy[0] | this.allianceOccupancy[1];
+    }
+
+    public boolean isSquareAttacked(final int square, final Alliance attacker) {
+        return AttackTables.isSquareAttacked(square, attacker, this.pieceBitBoards, getOccupancy());
+    }
+
+    public boolean isSquareAttacked(final int square, final Alliance attacker, final long occupancy) {
+        return AttackTables.isSquareAttacked(square, attacker, this.pieceBitBoards, occupancy);
+    }
+
+    public long attackersTo(final int square, final Alliance attacker) {
+        return AttackTables.attackersTo(square, attacker, this.pieceBitBoards, getOccupancy());
+    }
+
+    public long attackersTo(final int square, final Alliance attacker, final long occupancy) {
+        return AttackTables.attackersTo(square, attacker, this.pieceBitBoards, occupancy);
+    }
+
+    public boolean isInCheck(final Alliance alliance) {
+        final long king = this.pieceBitBoards[BitBoard.pieceIndex(alliance, Piece.PieceType.King)];
+        return king != BitBoard.Empty && isSquareAttacked(BitBoard.firstSquare(king), opponentOf(alliance));
+    }
+
+    public static Alliance pieceAlliance(final int piece) {
+        return Alliances[piece / BitBoard.PieceTypes];
+    }
+
+    public static Piece.PieceType pieceType(final int piece) {
+        return PieceTypes[piece % BitBoard.PieceTypes];
+    }
+
+    public void makeMove(final Move move) {
+        makeMove(move.getCurrentCoordinate(), move.getDestinationCoordinate(), moveKind(move));
+    }
+
+    public void makeMove(final int move) {
+        makeMove(PackedMove.source(move), PackedMove.destination(move), PackedMove.moveKind(move));
+    }
+
+    public void makeMove(final int source, final int destination, final int moveKind) {
+        final int movedPiece = this.squares[source];
+        final Alliance mover = pieceAlliance(movedPiece);
+        final int capturedSquare = moveKind == EnPassantMove ? destination - (mover.getDirection() * 8) : destination;
+        final int capturedPiece = this.squares[capturedSquare];
+
+        pushUndo(source, destination, moveKind, capturedPiece);
+
+        long key = this.zobristKey ^ Zobrist.SideToMoveKey ^ Zobrist.enPassantKey(this.enPassantSquare) ^ Zobrist.castlingKey(this.castlingRights);
+        if (capturedPiece != NoPiece) {
+            removePiece(capturedPiece, capturedSquare);
+            key ^= Zobrist.pieceKey(capturedPiece, capturedSquare);
+        }
+        final int arrivingPiece = isPromotion(moveKind) ? BitBoard.pieceIndex(mover, promotionType(moveKind)) : movedPiece;
+        removePiece(movedPiece, source);
+        addPiece(arrivingPiece, destination);
+        key ^= Zobrist.pieceKey(movedPiece, source) ^ Zobrist.pieceKey(arrivingPiece, destination);
+
+        if (moveKind == CastleKingSideMove) {
+            key ^= movePiece(destination + 1, destination - 1);
+        } else if (moveKind == CastleQueenSideMove) {
+            key ^= movePiece(destination - 2, destination + 1);
+        }
+
+        this.enPassantSquare = moveKind == PawnJumpMove ? (source + destination) / 2 : NoSquare;
+        this.castlingRights = CastlingRights.afterMove(this.castlingRights, source, destination);
+        this.zobristKey = key ^ Zobrist.enPassantKey(this.enPassantSquare) ^ Zobrist.castlingKey(this.castlingRights);
+        this.halfMoveClock = (capturedPiece != NoPiece || pieceType(movedPiece) == Piece.PieceType.Pawn) ? 0 : this.halfMoveClock + 1;
+        this.sideToMove = opponentOf(mover);
+    }
+
+    public void unmakeMove() {
+        final long undo = this.undoStack[--this.undoCount];
+        final int source = (int) (undo & 0x3F);
+        final int destination = (int) ((undo >>> 6) & 0x3F);
+        final int moveKind = (int) ((undo >>> 12) & 0xF);
+        final int capturedPiece = (int) ((undo >>> 16) & 0xF) - 1;
+        final int arrivedPiece = this.squares[destination];
+        final Alliance mover = pieceAlliance(arrivedPiece);
+        final int movedPiece = isPromotion(moveKind) ? BitBoard.pieceIndex(mover, Piece.PieceType.Pawn) : arrivedPiece;
+
+        if (moveKind == CastleKingSideMove) {
+            movePiece(destination - 1, destination + 1);
+        } else if (moveKind == CastleQueenSideMove) {
+            movePiece(destination + 1, destination - 2);
+        }
+        removePiece(arrivedPiece, destination);
+        addPiece(movedPiece, source);
+        if (capturedPiece != NoPiece) {
+            addPiece(capturedPiece, moveKind == EnPassantMove ? destination - (mover.getDirection() * 8) : destination);
+        }
+
+        this.castlingRights = (int) ((undo >>> 20) & 0xF);
+        this.enPassantSquare = (int) ((undo >>> 24) & 0x7F) - 1;
+        this.halfMoveClock = (int) (undo >>> 31);
+        this.zobristKey = this.keyHistory[this.undoCount];
+        this.sideToMove = mover;
+    }
+
+    public Board toBoard() {
+        final Board.Builder builder = new Board.Builder();
+        for (int square = 0; square < 64; square++) {
+            final int piece = this.squares[square];
+            if (piece != NoPiece) {
+                builder.setPiece(createPiece(piece, square));
+            }
+        }
+        if (this.enPassantSquare != NoSquare) {
+            final Alliance jumper = opponentOf(this.sideToMove);
+            builder.setEnPassantPawn((Pawn) createPiece(this.squares[this.enPassantSquare + (jumper.getDirection() * 8)],
+                    this.enPassantSquare + (jumper.getDirection() * 8)));
+        }
+        builder.setHalfMoveClock(this.halfMoveClock);
+        builder.setFullMoveNumber(getFullMoveNumber());
+        builder.setMoveMaker(this.sideToMove);
+        return builder.build();
+    }
+
+    private Piece createPiece(final int piece, final int square) {
+        final Alliance alliance = pieceAlliance(piece);
+        final Piece.PieceType pieceType = pieceType(piece);
+        final boolean isFirstMove = pieceType == Piece.PieceType.Pawn ?
+                BitBoard.isSet(alliance.isWhite() ? BitBoard.SecondRank : BitBoard.SeventhRank, square) :
+                CastlingRights.isUnmovedCastlePiece(this.castlingRights, pieceType, alliance, square);
+        return Piece.createPiece(pieceType, square, alliance, isFirstMove);
+    }
+
+    public static boolean isPromotion(final int moveKind) {
+        return moveKind >= KnightPromotionMove;
+    }
+
+    public static Piece.PieceType promotionType(final int moveKind) {
+        switch (moveKind) {
+            case KnightPromotionMove:
+                return Piece.PieceType.Knight;
+            case BishopPromotionMove:
+                return Piece.PieceType.Bishop;
+            case RookPromotionMove:
+                return Piece.PieceType.Rook;
+            default:
+                return Piece.PieceType.Queen;
+        }
+    }
+
+    public static int promotionMoveKind(final Piece.PieceType promotionType) {
+        switch (promotionType) {
+            case Knight:
+                return KnightPromotionMove;
+            case Bishop:
+                return BishopPromotionMove;
+            case Rook:
+                return RookPromotionMove;
+            case Queen:
+                return QueenPromotionMove;
+            default:
+                throw new RuntimeException("Cannot promote to " + promotionType);
+        }
+    }
+
+    private static int moveKind(final Move move) {
+        if (move.getPromotionType() != null) {
+            return promotionMoveKind(move.getPromotionType());
+        }
+        if (move instanceof Move.PawnJump) {
+            return PawnJumpMove;
+        }
+        if (move instanceof Move.EnPassantMove) {
+            return EnPassantMove;
+        }
+        if (move instanceof Move.CastleKingSide) {
+            return CastleKingSideMove;
+        }
+        if (move instanceof Move.CastleQueenSide) {
+            return CastleQueenSideMove;
+        }
+        return QuietMove;
+    }
+
+    private static Alliance opponentOf(final Alliance alliance) {
+        return alliance.isWhite() ? Alliance.Black : Alliance.White;
+    }
+
+    /* the halfmove clock takes every bit from 31 up, so any non-negative clock comes back intact */
+    private void pushUndo(final int source, final int destination, final int moveKind, final int capturedPiece) {
+        if (this.undoCount == this.undoStack.length) {
+            this.undoStack = Arrays.copyOf(this.undoStack, this.undoStack.length * 2);
+            this.keyHistory = Arrays.copyOf(this.keyHistory, this.keyHistory.length * 2);
+        }
+        this.keyHistory[this.undoCount] = this.zobristKey;
+        this.undoStack[this.undoCount++] = source |
+                ((long) destination << 6) |
+                ((long) moveKind << 12) |
+                ((long) (capturedPiece + 1) << 16) |
+                ((long) this.castlingRights << 20) |
+                ((long) (this.enPassantSquare + 1) << 24) |
+                ((long) this.halfMoveClock << 31);
+    }
+
+    private long movePiece(final int source, final int destination) {
+        final int piece = this.squares[source];
+        removePiece(piece, source);
+        addPiece(piece, destination);
+        return Zobrist.pieceKey(piece, source) ^ Zobrist.pieceKey(piece, destination);
+    }
+
+    private void addPiece(final int piece, final int square) {
+        final long bit = BitBoard.squareBit(square);
+        this.pieceBitBoards[piece] |= bit;
+        this.allianceOccupancy[piece / BitBoard.PieceTypes] |= bit;
+        this.squares[square] = piece;
+        if (piece % BitBoard.PieceTypes == PawnType) {
+            this.pawnKey ^= Zobrist.pieceKey(piece, square);
+        }
+        this.middlegameScore += PieceSquareTables.middlegameScore(piece, square);
+        this.endgameScore += PieceSquareTables.endgameScore(piece, square);
+        this.phase += PieceSquareTables.phase(piece);
+    }
+
+    private void removePiece(final int piece, final int square) {
+        final long bit = BitBoard.squareBit(square);
+        this.pieceBitBoards[piece] &= ~bit;
+        this.allianceOccupancy[piece / BitBoard.PieceTypes] &= ~bit;
+        this.squares[square] = NoPiece;
+        if (piece % BitBoard.PieceTypes == PawnType) {
+            this.pawnKey ^= Zobrist.pieceKey(piece, square);
+        }
+        this.middlegameScore -= PieceSquareTables.middlegameScore(piece, square);
+        this.endgameScore -= PieceSquareTables.endgameScore(piece, square);
+        this.phase -= PieceSquareTables.phase(piece);
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 64; i++) {
+            final int piece = this.squares[i];
+            final String squareText = piece == NoPiece ? "-" :
+                    pieceAlliance(piece).isBlack() ? pieceType(piece).toString().toLowerCase() : pieceType(piece).toString();
+            builder.append(String.format("%3s", squareText));
+            if ((i + 1) % 8 == 0) {
+                builder.append("\n");
+            }
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,139 @@
+package com.chess.engine.board;
+
+/*
+ * Magic bitboard lookup for bishop and rook attacks. For every square the
+ * relevant blockers are multiplied by a magic number whose top bits index a
+ * table holding the attack set for that blocker pattern. The magics below were
+ * found once by random search for this square numbering (0 = a8); the tables
+ * themselves are filled when the class loads.
+ */
+public class SlidingAttacks {
+
+    private static final int[][] BishopDirections = {{-1, -1}, {-1, 1}, {1, -1}, {1, 1}};
+    private static final int[][] RookDirections = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}};
+
+    private static final long[] BishopMasks = new long[64];
+    private static final long[] BishopMagics = {
+            0x1444200224082480L, 0x0120185208802001L, 0x1004010202080000L, 0x28080604C8104010L,
+            0x3084042040000100L, 0x045A025220006132L, 0x2200482804110090L, 0x8000210050500805L,
+            0xC001091010108100L, 0x0000081001004110L, 0x0010100430444000L, 0x58C0080A002004D5L,
+            0x0000045040084A04L, 0x4240420210040C02L, 0x0001009090082200L, 0x00001021080A9040L,
+            0x044008101001011CL, 0x0020800818608888L, 0x0490001800204C10L, 0x0910210104008000L,
+            0x0004040200A20402L, 0x0A00204202100208L, 0x0204014130821001L, 0x0000402211008808L,
+            0x0018400528020842L, 0x0010040110810200L, 0x400412020C00A401L, 0x50A80800002200A0L,
+            0x0401010040104000L, 0x0041004042005020L, 0x0004111204010101L, 0x2000444188840400L,
+            0x0110424921901001L, 0x0011080230200403L, 0x0601080802010040L, 0x0022080800020A00L,
+            0x0205040400290500L, 0x0220004480210481L, 0x0242040054840200L, 0x4814008200008C40L,
+            0x1828013108081004L, 0x000A080404090200L, 0x0389001802040400L, 0x0010022091004801L,
+            0x0110081014000110L, 0x3002204040800100L, 0x0A204404004000A0L, 0x2008008880888208L,
+            0x1004010450060402L, 0x0040823082200001L, 0x0207004044104808L, 0x0100004742088030L,
+            0x0210002082440480L, 0x8400042004110800L, 0x1820882101040000L, 0x0210010800888820L,
+            0x0406140205103800L, 0x0040548401013102L, 0x0021009602010404L, 0x0080002008840400L,
+            0x4010804008102402L, 0x90600420C2821200L, 0x0501841010610100L, 0x0010D0100A8A2040L
+    };
+    private static final int[] BishopShifts = new int[64];
+    private static final long[][] BishopTable = new long[64][];
+
+    private static final long[] RookMasks = new long[64];
+    private static final long[] RookMagics = {
+            0xA080028098400120L, 0x00C0001009402000L, 0x010010200041000AL, 0x1080040800801000L,
+            0x2080080002040080L, 0x0B00040012080D00L, 0x0200010084080200L, 0x020000844C010022L,
+            0x0800802040008000L, 0x8141004000208100L, 0x1003002000410011L, 0x0009001000A10900L,
+            0x0200808008000400L, 0x0031000804008300L, 0x2144000802041001L, 0x0081001068820100L,
+            0x0080004000402000L, 0x0010004000200040L, 0x0010410020030810L, 0x1810004040080400L,
+            0x0008008004008008L, 0x0000080140100420L, 0x1001010100020004L, 0x400012000455088CL,
+            0x0080004040002010L, 0x1000400080802000L, 0x0003044500142000L, 0x0540240900100100L,
+            0x400C001101000800L, 0x0000200801044010L, 0x0408020400081001L, 0x2000090200088044L,
+            0x8000804004800028L, 0x0010002010400042L, 0xA043001241002000L, 0x0000100080800800L,
+            0x8002002846001020L, 0x128A040080800200L, 0x0201004421008200L, 0x2006008042000104L,
+            0x8100400080208000L, 0x6002008100420020L, 0x2080108200220040L, 0x0208015000818009L,
+            0x40C4008008028004L, 0x0024010002004040L, 0x0408622801840010L, 0x0102410180460004L,
+            0x4400402089020200L, 0x4081048020460200L, 0x0520100020008080L, 0x0005100021000900L,
+            0x1100080004008080L, 0x4400040080020080L, 0x0084020801100400L, 0x0C00008044010200L,
+            0x4001800500406015L, 0x0C0091C100220282L, 0x1808094500200011L, 0x000500045000A009L,
+            0x0002002004100802L, 0x6032001088010402L, 0x008000A822013004L, 0x6200084400210482L
+    };
+    private static final int[] RookShifts = new int[64];
+    private static final long[][] RookTable = new long[64][];
+
+    static {
+        for (int square = 0; square < 64; square++) {
+            initSquare(square, BishopDirections, BishopMasks, BishopMagics[square], BishopShifts, BishopTable);
+            initSquare(square, RookDirections, RookMasks, RookMagics[square], RookShifts, RookTable);
+        }
+    }
+
+    private SlidingAttacks() {
+        throw new RuntimeException("No instantiation");
+    }
+
+    public static long bishopAttacks(final int square, final long occupancy) {
+        return BishopTable[square][(int) (((occupancy & BishopMasks[square]) * BishopMagics[square]) >>> BishopShifts[square])];
+    }
+
+    public static long rookAttacks(final int square, final long occupancy) {
+        return RookTable[square][(int) (((occupancy & RookMasks[square]) * RookMagics[square]) >>> RookShifts[square])];
+    }
+
+    public static long queenAttacks(final int square, final long occupancy) {
+        return bishopAttacks(square, occupancy) | rookAttacks(square, occupancy);
+    }
+
+    private static void initSquare(final int square, final int[][] directions, final long[] masks, final long magic,
+                                   final int[] shifts, final long[][] table) {
+        final long mask = relevantBlockers(square, directions);
+        final int bits = BitBoard.count(mask);
+        final long[] entries = new long[1 << bits];
+        final boolean[] filled = new boolean[entries.length];
+        long blockers = BitBoard.Empty;
+        do {
+            final int index = (int) ((blockers * magic) >>> (64 - bits));
+            final long attacks = slowAttacks(square, blockers, directions);
+            if (filled[index] && entries[index] != attacks) {
+                throw new RuntimeException("Bad magic for square " + square);
+            }
+            filled[index] = true;
+            entries[index] = attacks;
+            blockers = (blockers - mask) & mask;
+        } while (blockers != BitBoard.Empty);
+        masks[square] = mask;
+        shifts[square] = 64 - bits;
+        table[square] = entries;
+    }
+
+    private static long relevantBlockers(final int square, final int[][] directions) {
+        long mask = BitBoard.Empty;
+        for (final int[] direction : directions) {
+            int row = square / 8 + direction[0];
+            int column = square % 8 + direction[1];
+            while (isOnBoard(row + direction[0], column + direction[1])) {
+                mask |= BitBoard.squareBit(row * 8 + column);
+                row += direction[0];
+                column += direction[1];
+            }
+        }
+        return mask;
+    }
+
+    private static long slowAttacks(final int square, final long occupancy, final int[][] directions) {
+        long attacks = BitBoard.Empty;
+        for (final int[] direction : directions) {
+            int row = square / 8 + direction[0];
+            int column = square % 8 + direction[1];
+            while (isOnBoard(row, column)) {
+                final long bit = BitBoard.squareBit(row * 8 + column);
+                attacks |= bit;
+                if ((occupancy & bit) != 0) {
+                    break;
+                }
+                row += direction[0];
+                column += direction[1];
+            }
+        }
+        return attacks;
+    }
+
+    private static boolean isOnBoard(final int row, final int column) {
+        return row >= 0 && row < 8 && column >= 0 && column < 8;
+    }
+}
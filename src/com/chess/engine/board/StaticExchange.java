@@ -0,0 +1,104 @@
+package com.chess.engine.board;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.pieces.Piece;
+
+/*
+ * Static exchange evaluation: the material a move wins or loses once both
+ * sides have made every profitable recapture on its destination square,
+ * always recapturing with their least valuable piece. The exchange is played
+ * out on an occupancy bitboard alone, uncovering sliders behind each piece
+ * that takes part, so the board itself is never changed. Search callers pass
+ * in a gain buffer of MaxExchanges entries they own, so an evaluation
+ * allocates nothing.
+ */
+public class StaticExchange {
+
+    private static final Piece.PieceType[] CaptureOrder = {
+            Piece.PieceType.Pawn, Piece.PieceType.Knight, Piece.PieceType.Bishop,
+            Piece.PieceType.Rook, Piece.PieceType.Queen, Piece.PieceType.King
+    };
+    public static final int MaxExchanges = 32;
+
+    private StaticExchange() {
+        throw new RuntimeException("No instantiation");
+    }
+
+    public static int evaluate(final SearchBoard board, final int move) {
+        return evaluate(board, move, new int[MaxExchanges]);
+    }
+
+    public static int evaluate(final SearchBoard board, final int move, final int[] gain) {
+        final int moveKind = PackedMove.moveKind(move);
+        if (moveKind == SearchBoard.CastleKingSideMove || moveKind == SearchBoard.CastleQueenSideMove) {
+            return 0;
+        }
+        final int source = PackedMove.source(move);
+        final int destination = PackedMove.destination(move);
+        final Alliance mover = board.getSideToMove();
+        final Piece.PieceType captured = PackedMove.capturedType(move);
+        final Piece.PieceType promotion = PackedMove.promotionType(move);
+
+        gain[0] = (captured == null ? 0 : captured.getPieceValue()) +
+                (promotion == null ? 0 : promotion.getPieceValue() - Piece.PieceType.Pawn.getPieceValue());
+        int onSquareValue = promotion == null ? PackedMove.movedType(move).getPieceValue() : promotion.getPieceValue();
+
+        long occupancy = board.getOccupancy() ^ BitBoard.squareBit(source);
+        if (moveKind == SearchBoard.EnPassantMove) {
+            occupancy ^= BitBoard.squareBit(destination - (mover.getDirection() * 8));
+        }
+        final long bishopsAndQueens = diagonalSliders(board);
+        final long rooksAndQueens = straightSliders(board);
+        long attackers = (board.attackersTo(destination, Alliance.White, occupancy) |
+                board.attackersTo(destination, Alliance.Black, occupancy)) & occupancy;
+
+        Alliance side = opponentOf(mover);
+        int depth = 0;
+        while (depth + 1 < MaxExchanges) {
+            final long sideAttackers = attackers & board.getAllianceOccupancy(side);
+            if (sideAttackers == BitBoard.Empty) {
+                break;
+            }
+            Piece.PieceType attackerType = null;
+            long attackerBit = BitBoard.Empty;
+            for (final Piece.PieceType pieceType : CaptureOrder) {
+                final long candidates = sideAttackers & board.getPieceBitBoard(side, pieceType);
+                if (candidates != BitBoard.Empty) {
+                    attackerType = pieceType;
+                    attackerBit = BitBoard.squareBit(BitBoard.firstSquare(candidates));
+                    break;
+                }
+            }
+            if (attackerType == Piece.PieceType.King && (attackers & board.getAllianceOccupancy(opponentOf(side)) & ~attackerBit) != BitBoard.Empty) {
+                break;
+            }
+            depth++;
+            gain[depth] = onSquareValue - gain[depth - 1];
+            onSquareValue = attackerType.getPieceValue();
+            occupancy ^= attackerBit;
+            attackers |= (SlidingAttacks.bishopAttacks(destination, occupancy) & bishopsAndQueens) |
+                    (SlidingAttacks.rookAttacks(destination, occupancy) & rooksAndQueens);
+            attackers &= occupancy;
+            side = opponentOf(side);
+        }
+        while (depth > 0) {
+            gain[depth - 1] = -Math.max(-gain[depth - 1], gain[depth]);
+            depth--;
+        }
+        return gain[0];
+    }
+
+    private static long diagonalSliders(final SearchBoard board) {
+        return board.getPieceBitBoard(Alliance.White, Piece.PieceType.Bishop) | board.getPieceBitBoard(Alliance.White, Piece.PieceType.Queen) |
+                board.getPieceBitBoard(Alliance.Black, Piece.PieceType.Bishop) | board.getPieceBitBoard(Alliance.Black, Piece.PieceType.Queen);
+    }
+
+    private static long straightSliders(final SearchBoard board) {
+        return board.getPieceBitBoard(Alliance.White, Piece.PieceType.Rook) | board.getPieceBitBoard(Alliance.White, Piece.PieceType.Queen) |
+                board.getPieceBitBoard(Alliance.Black, Piece.PieceType.Rook) | board.getPieceBitBoard(Alliance.Black, Piece.PieceType.Queen);
+    }
+
+    private static Alliance opponentOf(final Alliance alliance) {
+        return alliance.isWhite() ? Alliance.Black : Alliance.White;
+    }
+}
@@ -0,0 +1,84 @@
+package com.chess.engine.board;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.pieces.Piece;
+
+import java.util.SplittableRandom;
+
+/*
+ * 64-bit Zobrist keys. A position key is the XOR of one random key per piece
+ * on its square, the side-to-move key when Black is to move, the key for the
+ * current castling rights and the en-passant file key when a pawn has just
+ * jumped. Moves update a key by XOR-ing out what changed. The pawn key is the
+ * same XOR over the pawns alone, for caching pawn-structure evaluation.
+ */
+public class Zobrist {
+
+    private static final long Seed = 0x2F0B3C5A9E17D461L;
+
+    private static final long[][] PieceKeys = new long[BitBoard.PieceIndexes][64];
+    private static final long[] CastlingKeys = new long[CastlingRights.All + 1];
+    private static final long[] EnPassantKeys = new long[8];
+    public static final long SideToMoveKey;
+
+    static {
+        final SplittableRandom random = new SplittableRandom(Seed);
+        for (final long[] pieceKeys : PieceKeys) {
+            for (int square = 0; square < 64; square++) {
+                pieceKeys[square] = random.nextLong();
+            }
+        }
+        for (int rights = 0; rights < CastlingKeys.length; rights++) {
+            CastlingKeys[rights] = random.nextLong();
+        }
+        for (int file = 0; file < EnPassantKeys.length; file++) {
+            EnPassantKeys[file] = random.nextLong();
+        }
+        SideToMoveKey = random.nextLong();
+    }
+
+    private Zobrist() {
+        throw new RuntimeException("No instantiation");
+    }
+
+    public static long pieceKey(final int pieceIndex, final int square) {
+        return PieceKeys[pieceIndex][square];
+    }
+
+    public static long pieceKey(final Piece piece, final int square) {
+        return PieceKeys[BitBoard.pieceIndex(piece.getPieceAlliance(), piece.getPieceType())][square];
+    }
+
+    public static long castlingKey(final int castlingRights) {
+        return CastlingKeys[castlingRights];
+    }
+
+    public static long enPassantKey(final int enPassantSquare) {
+        return enPassantSquare == BoardFunctions.NoSquare ? 0L : EnPassantKeys[enPassantSquare % 8];
+    }
+
+    public static long sideToMoveKey(final Alliance sideToMove) {
+        return sideToMove.isBlack() ? SideToMoveKey : 0L;
+    }
+
+    public static long pawnKey(final long[] pieceBitBoards) {
+        long key = 0L;
+        for (final Alliance alliance : Alliance.values()) {
+            final int pieceIndex = BitBoard.pieceIndex(alliance, Piece.PieceType.Pawn);
+            for (long squares = pieceBitBoards[pieceIndex]; squares != BitBoard.Empty; squares = BitBoard.clearFirstSquare(squares)) {
+                key ^= PieceKeys[pieceIndex][BitBoard.firstSquare(squares)];
+            }
+        }
+        return key;
+    }
+
+    public static long positionKey(final long[] pieceBitBoards, final Alliance sideToMove, final int castlingRights, final int enPassantSquare) {
+        long key = sideToMoveKey(sideToMove) ^ castlingKey(castlingRights) ^ enPassantKey(enPassantSquare);
+        for (int pieceIndex = 0; pieceIndex < pieceBitBoards.length; pieceIndex++) {
+            for (long squares = pieceBitBoards[pieceIndex]; squares != BitBoard.Empty; squares = BitBoard.clearFirstSquare(squares)) {
+                key ^= PieceKeys[pieceIndex][BitBoard.firstSquare(squares)];
+            }
+        }
+        return key;
+    }
+}
@@ -4,6 +4,8 @@ import com.chess.engine.board.Board;
 import com.chess.engine.board.BoardFunctions;
 import com.chess.engine.board.Move;
 import com.chess.engine.board.Square;
+import com.chess.engine.pgn.PgnGame;
+import com.chess.engine.pgn.PgnReader;
 import com.chess.engine.pieces.Piece;
 import com.chess.engine.player.MoveTransition;
 
@@ -63,7 +65,10 @@ public class Table {
         openPGN.addActionListener(new ActionListener() {
             @Override
             public void actionPerformed(ActionEvent e) {
-                System.out.println("Open PGN");
+                final JFileChooser chooser = new JFileChooser();
+                if (chooser.showOpenDialog(gameFrame) == JFileChooser.APPROVE_OPTION) {
+                    loadPGNFile(chooser.getSelectedFile());
+                }
             }
         });
         fileMenu.add(openPGN);
@@ -79,6 +84,30 @@ public class Table {
 
     }
 
+    private void loadPGNFile(final File pgnFile) {
+        try (final PgnReader reader = new PgnReader(pgnFile.toPath())) {
+            if (!reader.hasNext()) {
+                JOptionPane.showMessageDialog(this.gameFrame, "No games in " + pgnFile.getName());
+                return;
+            }
+            final PgnGame game = reader.next();
+            if (game.isSkipped()) {
+                JOptionPane.showMessageDialog(this.gameFrame, "Could not load " + pgnFile.getName() + ": " + game.getError(),
+                        "Load PGN File", JOptionPane.ERROR_MESSAGE);
+                return;
+            }
+            this.chessBoard = game.getFinalBoard();
+            this.sourceSquare = null;
+            this.destinationSquare = null;
+            this.humanMovedPiece = null;
+            this.gameFrame.setTitle("JChess - " + game);
+            this.boardPanel.drawBoard(this.chessBoard);
+        } catch (final IOException | RuntimeException e) {
+            JOptionPane.showMessageDialog(this.gameFrame, "Could not load " + pgnFile.getName() + ": " + e.getMessage(),
+                    "Load PGN File", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
 
     private class BoardPanel extends JPanel {
         final java.util.List<SquarePanel> boardSquares;
@@ -0,0 +1,102 @@
+package com.chess.engine.perft;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.chess.engine.board.MoveGenerator;
+import com.chess.engine.board.MoveList;
+import com.chess.engine.board.PackedMove;
+import com.chess.engine.board.SearchBoard;
+import com.chess.engine.player.MoveTransition;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/*
+ * Counts the leaf nodes of the legal move tree to a fixed depth. The counts are
+ * known for the standard positions, so any difference points at a move
+ * generation bug, and the time taken is the yardstick for generator speed.
+ * Both the Board move generator and the SearchBoard packed move generator
+ * can be counted.
+ */
+public class Perft {
+
+    private Perft() {
+        throw new RuntimeException("No instantiation");
+    }
+
+    public static long perft(final Board board, final int depth) {
+        if (depth == 0) {
+            return 1L;
+        }
+        long nodes = 0L;
+        for (final Move move : board.currentPlayer().getLegalMoves()) {
+            final MoveTransition transition = board.currentPlayer().makeMove(move);
+            if (transition.getMoveStatus().isDone()) {
+                nodes += depth == 1 ? 1L : perft(transition.getTransitionBoard(), depth - 1);
+            }
+        }
+        return nodes;
+    }
+
+    public static Map<String, Long> divide(final Board board, final int depth) {
+        final Map<String, Long> divide = new LinkedHashMap<>();
+        if (depth < 1) {
+            return divide;
+        }
+        for (final Move move : board.currentPlayer().getLegalMoves()) {
+            final MoveTransition transition = board.currentPlayer().makeMove(move);
+            if (transition.getMoveStatus().isDone()) {
+                divide.put(move.toString(), perft(transition.getTransitionBoard(), depth - 1));
+            }
+        }
+        return divide;
+    }
+
+    public static long perft(final SearchBoard board, final int depth) {
+        return perft(board, depth, createMoveLists(depth));
+    }
+
+    public static Map<String, Long> divide(final SearchBoard board, final int depth) {
+        final Map<String, Long> divide = new LinkedHashMap<>();
+        if (depth < 1) {
+            return divide;
+        }
+        final MoveList[] moveLists = createMoveLists(depth);
+        final MoveList moves = moveLists[depth];
+        moves.clear();
+        MoveGenerator.generateLegalMoves(board, moves);
+        for (int i = 0; i < moves.size(); i++) {
+            board.makeMove(moves.get(i));
+            divide.put(PackedMove.toString(moves.get(i)), perft(board, depth - 1, moveLists));
+            board.unmakeMove();
+        }
+        return divide;
+    }
+
+    private static long perft(final SearchBoard board, final int depth, final MoveList[] moveLists) {
+        if (depth == 0) {
+            return 1L;
+        }
+        final MoveList moves = moveLists[depth];
+        moves.clear();
+        MoveGenerator.generateLegalMoves(board, moves);
+        if (depth == 1) {
+            return moves.size();
+        }
+        long nodes = 0L;
+        for (int i = 0; i < moves.size(); i++) {
+            board.makeMove(moves.get(i));
+            nodes += perft(board, depth - 1, moveLists);
+            board.unmakeMove();
+        }
+        return nodes;
+    }
+
+    private static MoveList[] createMoveLists(final int depth) {
+        final MoveList[] moveLists = new MoveList[Math.max(depth, 0) + 1];
+        for (int i = 0; i < moveLists.length; i++) {
+            moveLists[i] = new MoveList();
+        }
+        return moveLists;
+    }
+}
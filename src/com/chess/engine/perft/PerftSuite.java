@@ -0,0 +1,150 @@
+package com.chess.engine.perft;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.FenUtilities;
+import com.chess.engine.board.SearchBoard;
+
+import java.util.Map;
+
+/*
+ * Runs perft over the standard positions and checks every count against the
+ * published one. Usage:
+ *
+ *   PerftSuite [maxDepth] [maxNodes] [board|search]     run the suite
+ *   PerftSuite divide "<fen>" depth [board|search]      print the count under each root move
+ *
+ * Depths whose expected count is above maxNodes are skipped so the suite can be
+ * kept short for a quick regression run. The last argument picks the Board
+ * generator (the default) or the SearchBoard packed move generator. Every
+ * suite position must also write back the FEN it was read from, and each
+ * malformed placement below must be rejected by the parser.
+ */
+public class PerftSuite {
+
+    private static final int DefaultMaxDepth = 5;
+    private static final long DefaultMaxNodes = 5_000_000L;
+    private static final String SearchBoardMode = "search";
+
+    private static final Object[][] Positions = {
+            {"rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1",
+                    new long[]{20L, 400L, 8_902L, 197_281L, 4_865_609L}},
+            {"r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+                    new long[]{48L, 2_039L, 97_862L, 4_085_603L}},
+            {"8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1",
+                    new long[]{14L, 191L, 2_812L, 43_238L, 674_624L}},
+            {"r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1",
+                    new long[]{6L, 264L, 9_467L, 422_333L}},
+            {"rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8",
+                    new long[]{44L, 1_486L, 62_379L, 2_103_487L}},
+            {"r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10",
+                    new long[]{46L, 2_079L, 89_890L, 3_894_594L}}
+    };
+
+    private static final String[] MalformedFens = {
+            "rnbqkbnr//pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1",
+            "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPPRNBQKBNR w KQkq - 0 1",
+            "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR/8 w KQkq - 0 1",
+            "rnbqkbnr/ppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1",
+            "rnbqkbnr/pppppppp/9/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1",
+            "rnbqkbnr/pppppppp/4P4/8/8/8/PPPPPPP/RNBQKBNR w KQkq - 0 1",
+            "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQ1BNR w kq - 0 1",
+            "rnbq1bnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQ - 0 1",
+            "rnbqkbnr/pppppppp/8/8/3K4/8/PPPPPPPP/RNBQKBNR w kq - 0 1",
+            "8/8/8/8/8/8/8/8 w - - 0 1"
+    };
+
+    private PerftSuite() {
+        throw new RuntimeException("No instantiation");
+    }
+
+    public static void main(final String[] args) {
+        if (args.length > 0 && args[0].equals("divide")) {
+            if (args.length < 3) {
+                throw new RuntimeException("Usage: PerftSuite divide \"<fen>\" depth [board|search]");
+            }
+            printDivide(FenUtilities.createGameFromFEN(args[1]), Integer.parseInt(args[2]),
+                    args.length > 3 && args[3].equals(SearchBoardMode));
+            return;
+        }
+        final int maxDepth = args.length > 0 ? Integer.parseInt(args[0]) : DefaultMaxDepth;
+        final long maxNodes = args.length > 1 ? Long.parseLong(args[1]) : DefaultMaxNodes;
+        if (!runSuite(maxDepth, maxNodes, args.length > 2 && args[2].equals(SearchBoardMode))) {
+            System.exit(1);
+        }
+    }
+
+    public static boolean runSuite(final int maxDepth, final long maxNodes, final boolean useSearchBoard) {
+        boolean passed = checkFens();
+        long totalNodes = 0L;
+        long totalNanos = 0L;
+        for (final Object[] position : Positions) {
+            final String fen = (String) position[0];
+            final long[] expectedCounts = (long[]) position[1];
+            final Board board = FenUtilities.createGameFromFEN(fen);
+            System.out.println(fen);
+            for (int depth = 1; depth <= Math.min(maxDepth, expectedCounts.length); depth++) {
+                final long expected = expectedCounts[depth - 1];
+                if (expected > maxNodes) {
+                    break;
+                }
+                final long start = System.nanoTime();
+                final long nodes = useSearchBoard ? Perft.perft(new SearchBoard(board), depth) : Perft.perft(board, depth);
+                final long elapsed = System.nanoTime() - start;
+                totalNodes += nodes;
+                totalNanos += elapsed;
+                final boolean ok = nodes == expected;
+                passed &= ok;
+                System.out.println(String.format("  depth %d: %,d nodes in %d ms (%,d nps) %s",
+                        depth, nodes, elapsed / 1_000_000, nodesPerSecond(nodes, elapsed),
+                        ok ? "ok" : "FAILED, expected " + expected));
+            }
+        }
+        System.out.println(String.format("%s: %,d nodes in %d ms (%,d nps)", passed ? "passed" : "FAILED",
+                totalNodes, totalNanos / 1_000_000, nodesPerSecond(totalNodes, totalNanos)));
+        return passed;
+    }
+
+    private static boolean checkFens() {
+        boolean passed = true;
+        for (final Object[] position : Positions) {
+            final String fen = (String) position[0];
+            final String written = FenUtilities.createGameFromFEN(fen).toFen();
+            if (!written.equals(fen)) {
+                System.out.println("FEN round trip FAILED: " + fen + " came back as " + written);
+                passed = false;
+            }
+        }
+        for (final String fen : MalformedFens) {
+            boolean rejected = false;
+            try {
+                FenUtilities.createGameFromFEN(fen);
+            } catch (final RuntimeException e) {
+                rejected = true;
+            }
+            if (!rejected) {
+                System.out.println("FEN check FAILED: accepted " + fen);
+                passed = false;
+            }
+        }
+        System.out.println(String.format("FEN: %d round trips, %d malformed placements %s",
+                Positions.length, MalformedFens.length, passed ? "ok" : "FAILED"));
+        return passed;
+    }
+
+    private static void printDivide(final Board board, final int depth, final boolean useSearchBoard) {
+        final long start = System.nanoTime();
+        long total = 0L;
+        final Map<String, Long> divide = useSearchBoard ? Perft.divide(new SearchBoard(board), depth) : Perft.divide(board, depth);
+        for (final Map.Entry<String, Long> entry : divide.entrySet()) {
+            System.out.println(entry.getKey() + ": " + entry.getValue());
+            total += entry.getValue();
+        }
+        final long elapsed = System.nanoTime() - start;
+        System.out.println(String.format("total %,d nodes in %d ms (%,d nps)",
+                total, elapsed / 1_000_000, nodesPerSecond(total, elapsed)));
+    }
+
+    private static long nodesPerSecond(final long nodes, final long nanos) {
+        return nanos == 0 ? 0L : nodes * 1_000_000_000L / nanos;
+    }
+}
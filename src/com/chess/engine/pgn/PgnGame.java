@@ -0,0 +1,84 @@
+package com.chess.engine.pgn;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * One game read from a PGN file: its tag pairs in file order, the position it
+ * starts from, the moves of its main line and the position they lead to. A
+ * game whose FEN or moves could not be parsed is kept as a skipped game with
+ * its tags and the error, and no positions.
+ */
+public class PgnGame {
+    private final Map<String, String> tags;
+    private final Board startingBoard;
+    private final List<Move> moves;
+    private final Board finalBoard;
+    private final String result;
+    private final String error;
+
+    PgnGame(final Map<String, String> tags, final Board startingBoard, final List<Move> moves,
+            final Board finalBoard, final String result) {
+        this.tags = Collections.unmodifiableMap(tags);
+        this.startingBoard = startingBoard;
+        this.moves = Collections.unmodifiableList(moves);
+        this.finalBoard = finalBoard;
+        this.result = result;
+        this.error = null;
+    }
+
+    PgnGame(final Map<String, String> tags, final String error) {
+        this.tags = Collections.unmodifiableMap(tags);
+        this.startingBoard = null;
+        this.moves = Collections.emptyList();
+        this.finalBoard = null;
+        this.result = "*";
+        this.error = error;
+    }
+
+    public Map<String, String> getTags() {
+        return this.tags;
+    }
+
+    public String getTag(final String name) {
+        return this.tags.get(name);
+    }
+
+    public Board getStartingBoard() {
+        return this.startingBoard;
+    }
+
+    public List<Move> getMoves() {
+        return this.moves;
+    }
+
+    public Board getFinalBoard() {
+        return this.finalBoard;
+    }
+
+    public String getResult() {
+        return this.result;
+    }
+
+    public boolean isSkipped() {
+        return this.error != null;
+    }
+
+    public String getError() {
+        return this.error;
+    }
+
+    @Override
+    public String toString() {
+        if (isSkipped()) {
+            return this.tags.getOrDefault("White", "?") + " - " + this.tags.getOrDefault("Black", "?") +
+                    " skipped: " + this.error;
+        }
+        return this.tags.getOrDefault("White", "?") + " - " + this.tags.getOrDefault("Black", "?") +
+                " " + this.result + " (" + this.moves.size() + " plies)";
+    }
+}
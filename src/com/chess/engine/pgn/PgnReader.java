@@ -0,0 +1,363 @@
+package com.chess.engine.pgn;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.FenUtilities;
+import com.chess.engine.board.Move;
+import com.chess.engine.board.MoveList;
+import com.chess.engine.board.PackedMove;
+import com.chess.engine.board.SearchBoard;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/*
+ * Streams the games of a PGN file one at a time. The file is memory-mapped a
+ * window at a time and each game is parsed straight from the mapped bytes, so
+ * an archive of any size is read in constant memory. A game that runs past the
+ * end of a window is parsed again from a window mapped at its first byte.
+ * Only the main line is kept: comments, variations and annotation glyphs are
+ * skipped, and every move is resolved from its SAN through the position it is
+ * played in. A game with a bad FEN tag or an unresolvable move is returned as a
+ * skipped game and reading carries on from the game after it.
+ */
+public class PgnReader implements Iterator<PgnGame>, Closeable {
+
+    private static final long DefaultWindowSize = 1L << 26;
+
+    private static final WindowExhausted EndOfWindow = new WindowExhausted();
+
+    private final FileChannel channel;
+    private final long fileSize;
+    private final long windowSize;
+    private final StringBuilder token;
+    private final ByteArrayOutputStream tagValue;
+    private final MoveList scratch;
+    private MappedByteBuffer window;
+    private long windowStart;
+    private int position;
+    private PgnGame nextGame;
+    private int gamesRead;
+    private int gamesSkipped;
+
+    public PgnReader(final Path path) throws IOException {
+        this(path, DefaultWindowSize);
+    }
+
+    public PgnReader(final Path path, final long windowSize) throws IOException {
+        if (windowSize < 1 || windowSize > Integer.MAX_VALUE) {
+            throw new RuntimeException("PGN window size out of range " + windowSize);
+        }
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.fileSize = this.channel.size();
+        this.windowSize = windowSize;
+        this.token = new StringBuilder();
+        this.tagValue = new ByteArrayOutputStream();
+        this.scratch = new MoveList();
+        mapWindow(0);
+    }
+
+    public static Stream<PgnGame> stream(final Path path) throws IOException {
+        final PgnReader reader = new PgnReader(path);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(reader, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(() -> {
+                    try {
+                        reader.close();
+                    } catch (final IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+
+    public int getGamesRead() {
+        return this.gamesRead;
+    }
+
+    public int getGamesSkipped() {
+        return this.gamesSkipped;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (this.nextGame == null) {
+            this.nextGame = readGame();
+        }
+        return this.nextGame != null;
+    }
+
+    @Override
+    public PgnGame next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        final PgnGame game = this.nextGame;
+        this.nextGame = null;
+        return game;
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.channel.close();
+    }
+
+    private PgnGame readGame() {
+        while (true) {
+            final long gameStart = this.windowStart + this.position;
+            try {
+                return parseGame();
+            } catch (final WindowExhausted e) {
+                if (gameStart == this.windowStart) {
+                    throw new RuntimeException("PGN game " + (this.gamesRead + 1) + " is larger than the " +
+                            this.windowSize + " byte window");
+                }
+                mapWindow(gameStart);
+            }
+        }
+    }
+
+    private PgnGame parseGame() {
+        skipWhitespace();
+        if (peek() < 0) {
+            return null;
+        }
+        final Map<String, String> tags = new LinkedHashMap<>();
+        while (peek() == '[') {
+            parseTag(tags);
+            skipWhitespace();
+        }
+        try {
+            return parseMoves(tags);
+        } catch (final WindowExhausted e) {
+            throw e;
+        } catch (final RuntimeException e) {
+            skipToNextGame();
+            this.gamesRead++;
+            this.gamesSkipped++;
+            return new PgnGame(tags, e.getMessage() != null ? e.getMessage() : e.toString());
+        }
+    }
+
+    private PgnGame parseMoves(final Map<String, String> tags) {
+        final String fen = tags.get("FEN");
+        final Board startingBoard = fen != null ? FenUtilities.parseFen(fen) : Board.createChessBoard();
+        final SearchBoard searchBoard = new SearchBoard(startingBoard);
+        final List<Move> moves = new ArrayList<>();
+        Board board = startingBoard;
+        String result = "*";
+        while (true) {
+            skipWhitespace();
+            final int next = peek();
+            if (next < 0 || next == '[') {
+                break;
+            }
+            if (next == '{') {
+                skipPast('}');
+            } else if (next == ';' || next == '%') {
+                skipPast('\n');
+            } else if (next == '(') {
+                skipVariation();
+            } else if (next == ')' || next == ']' || next == '}') {
+                this.position++;
+            } else {
+                readToken();
+                if (isResult()) {
+                    result = this.token.toString();
+                    break;
+                }
+                if (!stripMoveNumber()) {
+                    continue;
+                }
+                final int move = StandardAlgebraicNotation.resolve(searchBoard, this.token, this.scratch);
+                if (move == PackedMove.NoMove) {
+                    throw new RuntimeException("Illegal move " + this.token + " in PGN game " + (this.gamesRead + 1) +
+                            " at " + board.toFen());
+                }
+                final Move boardMove = board.currentPlayer().getLegalMove(
+                        Move.createMoveKey(PackedMove.source(move), PackedMove.destination(move), PackedMove.promotionType(move)));
+                moves.add(boardMove);
+                board = boardMove.execute();
+                searchBoard.makeMove(move);
+            }
+        }
+        this.gamesRead++;
+        return new PgnGame(tags, startingBoard, moves, board, result);
+    }
+
+    /* after a failed game, moves past its result token or up to a tag pair opening a line */
+    private void skipToNextGame() {
+        while (true) {
+            skipWhitespace();
+            final int next = peek();
+            if (next < 0 || (next == '[' && isLineStart())) {
+                return;
+            }
+            if (next == '{') {
+                skipPast('}');
+            } else if (next == ';' || next == '%') {
+                skipPast('\n');
+            } else {
+                readToken();
+                if (isResult()) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private boolean isLineStart() {
+        return this.position == 0 || this.window.get(this.position - 1) == '\n' || this.window.get(this.position - 1) == '\r';
+    }
+
+    private void parseTag(final Map<String, String> tags) {
+        this.position++;
+        skipWhitespace();
+        this.token.setLength(0);
+        for (int next = peek(); next > ' ' && next != '"' && next != ']'; next = peek()) {
+            this.token.append((char) next);
+            this.position++;
+        }
+        skipWhitespace();
+        this.tagValue.reset();
+        if (peek() == '"') {
+            this.position++;
+            for (int next = peek(); next >= 0 && next != '"'; next = peek()) {
+                if (next == '\\') {
+                    this.position++;
+                    next = peek();
+                    if (next < 0) {
+                        break;
+                    }
+                }
+                this.tagValue.write(next);
+                this.position++;
+            }
+        }
+        skipPast(']');
+        tags.put(this.token.toString(), new String(this.tagValue.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    private void readToken() {
+        this.token.setLength(0);
+        for (int next = peek(); next > ' ' && !isDelimiter(next); next = peek()) {
+            this.token.append((char) next);
+            this.position++;
+        }
+        if (this.token.length() == 0) {
+            this.position++;
+        }
+    }
+
+    /* drops a leading move number such as "12." or "12..." and reports whether a move is left */
+    private boolean stripMoveNumber() {
+        int start = 0;
+        while (start < this.token.length() && Character.isDigit(this.token.charAt(start))) {
+            start++;
+        }
+        while (start < this.token.length() && this.token.charAt(start) == '.') {
+            start++;
+        }
+        this.token.delete(0, start);
+        return this.token.length() > 0 && this.token.charAt(0) != '$';
+    }
+
+    private boolean isResult() {
+        return contentEquals("1-0") || contentEquals("0-1") || contentEquals("1/2-1/2") || contentEquals("*");
+    }
+
+    private boolean contentEquals(final String text) {
+        if (this.token.length() != text.length()) {
+            return false;
+        }
+        for (int i = 0; i < text.length(); i++) {
+            if (this.token.charAt(i) != text.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void skipVariation() {
+        int depth = 0;
+        for (int next = peek(); next >= 0; next = peek()) {
+            if (next == '{') {
+                skipPast('}');
+                continue;
+            }
+            if (next == ';') {
+                skipPast('\n');
+                continue;
+            }
+            this.position++;
+            if (next == '(') {
+                depth++;
+            } else if (next == ')' && --depth == 0) {
+                return;
+            }
+        }
+    }
+
+    private void skipPast(final int end) {
+        for (int next = peek(); next >= 0; next = peek()) {
+            this.position++;
+            if (next == end) {
+                return;
+            }
+        }
+    }
+
+    private void skipWhitespace() {
+        for (int next = peek(); next >= 0 && next <= ' '; next = peek()) {
+            this.position++;
+        }
+    }
+
+    private static boolean isDelimiter(final int next) {
+        return next == '{' || next == '}' || next == '(' || next == ')' || next == ';' || next == '[' || next == ']';
+    }
+
+    /* the byte at the current position, -1 at the end of the file */
+    private int peek() {
+        if (this.position < this.window.limit()) {
+            return this.window.get(this.position) & 0xFF;
+        }
+        if (this.windowStart + this.window.limit() >= this.fileSize) {
+            return -1;
+        }
+        throw EndOfWindow;
+    }
+
+    private void mapWindow(final long start) {
+        try {
+            this.window = this.channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(this.windowSize, this.fileSize - start));
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        this.windowStart = start;
+        this.position = 0;
+    }
+
+    /* thrown when parsing reaches the end of the mapped window before the end of the file */
+    private static final class WindowExhausted extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        WindowExhausted() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.chess.engine.pgn;
+
+import com.chess.engine.board.MoveGenerator;
+import com.chess.engine.board.MoveList;
+import com.chess.engine.board.PackedMove;
+import com.chess.engine.board.SearchBoard;
+import com.chess.engine.pieces.Piece;
+
+/*
+ * Resolves moves written in Standard Algebraic Notation ("Nbd7", "exd6",
+ * "e8=Q+", "O-O-O") against the strictly legal moves of a position, so a
+ * disambiguation only has to tell apart the pieces that can really move there.
+ */
+public class StandardAlgebraicNotation {
+
+    private StandardAlgebraicNotation() {
+        throw new RuntimeException("No instantiation");
+    }
+
+    /* the packed move the text names, or NoMove when it names no legal move or more than one */
+    public static int resolve(final SearchBoard board, final CharSequence san, final MoveList scratch) {
+        int end = san.length();
+        while (end > 0 && isAnnotation(san.charAt(end - 1))) {
+            end--;
+        }
+        scratch.clear();
+        MoveGenerator.generateLegalMoves(board, scratch);
+
+        if (end >= 3 && isCastleChar(san.charAt(0)) && san.charAt(1) == '-' && isCastleChar(san.charAt(2))) {
+            final int castleKind;
+            if (end == 3) {
+                castleKind = SearchBoard.CastleKingSideMove;
+            } else if (end == 5 && san.charAt(3) == '-' && isCastleChar(san.charAt(4))) {
+                castleKind = SearchBoard.CastleQueenSideMove;
+            } else {
+                return PackedMove.NoMove;
+            }
+            for (int i = 0; i < scratch.size(); i++) {
+                if (PackedMove.moveKind(scratch.get(i)) == castleKind) {
+                    return scratch.get(i);
+                }
+            }
+            return PackedMove.NoMove;
+        }
+
+        int start = 0;
+        Piece.PieceType pieceType = Piece.PieceType.Pawn;
+        if (end > 0 && pieceType(san.charAt(0)) != null) {
+            pieceType = pieceType(san.charAt(0));
+            start = 1;
+        }
+        Piece.PieceType promotionType = null;
+        if (pieceType == Piece.PieceType.Pawn && end >= 2 && pieceType(Character.toUpperCase(san.charAt(end - 1))) != null) {
+            promotionType = pieceType(Character.toUpperCase(san.charAt(end - 1)));
+            end -= san.charAt(end - 2) == '=' ? 2 : 1;
+        }
+        if (end - start < 2) {
+            return PackedMove.NoMove;
+        }
+        final int destination = square(san.charAt(end - 2), san.charAt(end - 1));
+        if (destination < 0) {
+            return PackedMove.NoMove;
+        }
+        int sourceColumn = -1;
+        int sourceRow = -1;
+        for (int i = start; i < end - 2; i++) {
+            final char sanChar = san.charAt(i);
+            if (sanChar >= 'a' && sanChar <= 'h') {
+                sourceColumn = sanChar - 'a';
+            } else if (sanChar >= '1' && sanChar <= '8') {
+                sourceRow = '8' - sanChar;
+            } else if (sanChar != 'x' && sanChar != ':' && sanChar != '-') {
+                return PackedMove.NoMove;
+            }
+        }
+
+        int resolved = PackedMove.NoMove;
+        for (int i = 0; i < scratch.size(); i++) {
+            final int move = scratch.get(i);
+            final int source = PackedMove.source(move);
+            if (PackedMove.destination(move) == destination &&
+                    PackedMove.movedType(move) == pieceType &&
+                    PackedMove.promotionType(move) == promotionType &&
+                    (sourceColumn < 0 || source % 8 == sourceColumn) &&
+                    (sourceRow < 0 || source / 8 == sourceRow)) {
+                if (resolved != PackedMove.NoMove) {
+                    return PackedMove.NoMove;
+                }
+                resolved = move;
+            }
+        }
+        return resolved;
+    }
+
+    private static Piece.PieceType pieceType(final char pieceChar) {
+        switch (pieceChar) {
+            case 'P':
+                return Piece.PieceType.Pawn;
+            case 'N':
+                return Piece.PieceType.Knight;
+            case 'B':
+                return Piece.PieceType.Bishop;
+            case 'R':
+                return Piece.PieceType.Rook;
+            case 'Q':
+                return Piece.PieceType.Queen;
+            case 'K':
+                return Piece.PieceType.King;
+            default:
+                return null;
+        }
+    }
+
+    private static int square(final char file, final char rank) {
+        if (file < 'a' || file > 'h' || rank < '1' || rank > '8') {
+            return -1;
+        }
+        return ('8' - rank) * 8 + (file - 'a');
+    }
+
+    private static boolean isCastleChar(final char castleChar) {
+        return castleChar == 'O' || castleChar == '0';
+    }
+
+    private static boolean isAnnotation(final char annotationChar) {
+        return annotationChar == '+' || annotationChar == '#' || annotationChar == '!' || annotationChar == '?';
+    }
+}
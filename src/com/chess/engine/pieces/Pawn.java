@@ -1,6 +1,8 @@
 package com.chess.engine.pieces;
 
 import com.chess.engine.Alliance;
+import com.chess.engine.board.AttackTables;
+import com.chess.engine.board.BitBoard;
 import com.chess.engine.board.Board;
 import com.chess.engine.board.BoardFunctions;
 import com.chess.engine.board.Move;
@@ -10,44 +12,65 @@ import java.util.Collections;
 import java.util.List;
 
 public class Pawn extends Piece{
-    private static final int[] candidate_move_vector_coordinates = {7, 8, 9, 16};
-    public Pawn(int piecePosition, Alliance pieceAlliance){
-        super(PieceType.Pawn, piecePosition, pieceAlliance);
+    private static final PieceType[] PromotionTypes = {PieceType.Queen, PieceType.Rook, PieceType.Bishop, PieceType.Knight};
+
+    Pawn(final int piecePosition, final Alliance pieceAlliance, final boolean isFirstMove) {
+        super(PieceType.Pawn, piecePosition, pieceAlliance, isFirstMove);
     }
     @Override
     public List<Move> calculateLegalMoves(Board board) {
         final List<Move> legalMoves = new ArrayList<>();
-        for (final int coordinateOffset: candidate_move_vector_coordinates){
-            int potentialDestination = this.piecePosition + (this.pieceAlliance.getDirection() * coordinateOffset);
-            if(!BoardFunctions.isValidSquareCoordinate(potentialDestination)) {
-                continue;
+        final int forwardDestination = this.piecePosition + (this.pieceAlliance.getDirection() * 8);
+        if (BoardFunctions.isValidSquareCoordinate(forwardDestination) && !board.isOccupied(forwardDestination)) {
+            addPawnMove(legalMoves, new Move.PawnMove(board, this, forwardDestination));
+            final int jumpDestination = forwardDestination + (this.pieceAlliance.getDirection() * 8);
+            if (isOnStartingRank() && !board.isOccupied(jumpDestination)) {
+                legalMoves.add(new Move.PawnJump(board, this, jumpDestination));
             }
-            if (coordinateOffset == 8 && !board.getSquare(potentialDestination).isOccupied()){
-                legalMoves.add(new Move.MajorMove(board, this, potentialDestination));
-            } else if(coordinateOffset == 16 && this.isFirstMove &&
-                    (BoardFunctions.SeventhRank[piecePosition]) && this.getPieceAlliance().isBlack() ||
-                    (BoardFunctions.SecondRank[piecePosition] && this.getPieceAlliance().isWhite())){
-                final int behindPotentialDestination = this.piecePosition + this.pieceAlliance.getDirection() * 8;
-                if(!board.getSquare(behindPotentialDestination).isOccupied() && !board.getSquare(potentialDestination).isOccupied()) {
-                    legalMoves.add(new Move.MajorMove(board, this, potentialDestination));
-                }
-            } else if ((coordinateOffset == 7) && !((BoardFunctions.EighthColumn[this.piecePosition] && this.pieceAlliance.isWhite()) ||
-                    (BoardFunctions.FirstColumn[this.piecePosition] && this.pieceAlliance.isBlack()))){
-                if(board.getSquare(potentialDestination).isOccupied()) {
-                    final Piece pieceOnSquare = board.getSquare(potentialDestination).getPiece();
-                    if(this.pieceAlliance != pieceOnSquare.getPieceAlliance()) {
-                        legalMoves.add(new Move.MajorMove(board, this, potentialDestination));
-                    }
-                }
-            } else if ((coordinateOffset == 9) && !((BoardFunctions.FirstColumn[piecePosition] && this.getPieceAlliance().isWhite()) || ((BoardFunctions.EighthColumn[piecePosition] && this.getPieceAlliance().isBlack())))){
-                legalMoves.add(new Move.MajorMove(board, this, potentialDestination));
+        }
+
+        final long attacks = AttackTables.pawnAttacks(this.pieceAlliance, this.piecePosition);
+        for (long squares = attacks & board.getAllianceOccupancy(opponentAlliance()); squares != BitBoard.Empty;
+             squares = BitBoard.clearFirstSquare(squares)) {
+            final int attackDestination = BitBoard.firstSquare(squares);
+            addPawnMove(legalMoves, new Move.PawnAttackMove(board, this, attackDestination, board.getSquare(attackDestination).getPiece()));
+        }
+
+        final Pawn enPassantPawn = board.getEnPassantPawn();
+        if (enPassantPawn != null && enPassantPawn.getPieceAlliance() != this.pieceAlliance) {
+            final int enPassantDestination = enPassantPawn.getPiecePosition() - (enPassantPawn.getPieceAlliance().getDirection() * 8);
+            if (BitBoard.isSet(attacks, enPassantDestination)) {
+                legalMoves.add(new Move.EnPassantMove(board, this, enPassantDestination, enPassantPawn));
             }
         }
         return Collections.unmodifiableList(legalMoves);
     }
+
+    private void addPawnMove(final List<Move> legalMoves, final Move pawnMove) {
+        if (isPromotionSquare(pawnMove.getDestinationCoordinate())) {
+            for (final PieceType promotionType : PromotionTypes) {
+                legalMoves.add(new Move.PawnPromotion(pawnMove, promotionType));
+            }
+        } else {
+            legalMoves.add(pawnMove);
+        }
+    }
+
+    private boolean isPromotionSquare(final int coordinate) {
+        return this.pieceAlliance.isWhite() ? BoardFunctions.EighthRank[coordinate] : BoardFunctions.FirstRank[coordinate];
+    }
+
+    private boolean isOnStartingRank() {
+        return this.pieceAlliance.isWhite() ? BoardFunctions.SecondRank[this.piecePosition] : BoardFunctions.SeventhRank[this.piecePosition];
+    }
+
+    private Alliance opponentAlliance() {
+        return this.pieceAlliance.isWhite() ? Alliance.Black : Alliance.White;
+    }
+
     @Override
     public Pawn movePiece(Move move) {
-        return new Pawn(move.getDestinationCoordinate(), move.getMovedPiece().getPieceAlliance());
+        return (Pawn) createPiece(PieceType.Pawn, move.getDestinationCoordinate(), move.getMovedPiece().getPieceAlliance(), false);
     }
 
     public String toString(){
@@ -1,9 +1,17 @@
 package com.chess.engine.pieces;
 import com.chess.engine.Alliance;
+import com.chess.engine.board.BitBoard;
 import com.chess.engine.board.Board;
 import com.chess.engine.board.Move;
 import java.util.*;
 
+/*
+ * Pieces are immutable and fully described by type, alliance, square and
+ * first-move flag, so every possible piece is built once when the class loads
+ * and handed out by createPiece. Moving a piece looks up its successor instead
+ * of allocating one, and two pieces are equal only when they are the same
+ * instance.
+ */
 public abstract class Piece {
     protected final int piecePosition;
     protected final Alliance pieceAlliance;
@@ -12,11 +20,13 @@ public abstract class Piece {
 
     private final int  cachedHashCode;
 
-    public Piece(final PieceType pieceType, final int piecePosition, final Alliance pieceAlliance) {
+    private static final Piece[] Pieces = initPieces();
+
+    Piece(final PieceType pieceType, final int piecePosition, final Alliance pieceAlliance, final boolean isFirstMove) {
         this.pieceType = pieceType;
         this.pieceAlliance = pieceAlliance;
         this.piecePosition = piecePosition;
-        this.isFirstMove = false;
+        this.isFirstMove = isFirstMove;
         this.cachedHashCode = computeHashCode(); 
     }
 
@@ -24,19 +34,6 @@ public abstract class Piece {
         return this.cachedHashCode;
     }
 
-    @Override
-    public boolean equals(final Object other){
-        if (this == other){
-            return true;
-        }
-        if (!(other instanceof Piece)) {
-            return false;
-        }
-        final Piece otherPiece = (Piece) other;
-        return (pieceAlliance == otherPiece.getPieceAlliance()) && (piecePosition == otherPiece.getPiecePosition())
-                && (pieceType == otherPiece.getPieceType()) && (isFirstMove == otherPiece.isFirstMove());
-    }
-
     private int computeHashCode(){
         int result = pieceType.hashCode();
         result = 31 * result + pieceAlliance.hashCode();
@@ -57,14 +54,71 @@ public abstract class Piece {
     }
     public abstract List<Move> calculateLegalMoves(final Board board);
 
+    protected List<Move> createMoves(final Board board, final long destinations) {
+        final List<Move> legalMoves = new ArrayList<>(BitBoard.count(destinations));
+        for (long squares = destinations; squares != BitBoard.Empty; squares = BitBoard.clearFirstSquare(squares)) {
+            final int destination = BitBoard.firstSquare(squares);
+            if (board.isOccupied(destination)) {
+                legalMoves.add(new Move.AttackMove(board, this, destination, board.getSquare(destination).getPiece()));
+            } else {
+                legalMoves.add(new Move.MajorMove(board, this, destination));
+            }
+        }
+        return Collections.unmodifiableList(legalMoves);
+    }
+
     public abstract Piece movePiece(Move move);
 
+    public static Piece createPiece(final PieceType pieceType, final int piecePosition, final Alliance pieceAlliance) {
+        return createPiece(pieceType, piecePosition, pieceAlliance, true);
+    }
+
+    public static Piece createPiece(final PieceType pieceType, final int piecePosition, final Alliance pieceAlliance, final boolean isFirstMove) {
+        return Pieces[pieceIndex(pieceType, piecePosition, pieceAlliance, isFirstMove)];
+    }
+
+    private static int pieceIndex(final PieceType pieceType, final int piecePosition, final Alliance pieceAlliance, final boolean isFirstMove) {
+        return (((pieceAlliance.ordinal() * PieceType.values().length + pieceType.ordinal()) * 64 + piecePosition) << 1) | (isFirstMove ? 1 : 0);
+    }
+
+    private static Piece[] initPieces() {
+        final Piece[] pieces = new Piece[Alliance.values().length * PieceType.values().length * 64 * 2];
+        for (final Alliance alliance : Alliance.values()) {
+            for (final PieceType pieceType : PieceType.values()) {
+                for (int position = 0; position < 64; position++) {
+                    pieces[pieceIndex(pieceType, position, alliance, false)] = instantiate(pieceType, position, alliance, false);
+                    pieces[pieceIndex(pieceType, position, alliance, true)] = instantiate(pieceType, position, alliance, true);
+                }
+            }
+        }
+        return pieces;
+    }
+
+    private static Piece instantiate(final PieceType pieceType, final int piecePosition, final Alliance pieceAlliance, final boolean isFirstMove) {
+        switch (pieceType) {
+            case Pawn:
+                return new Pawn(piecePosition, pieceAlliance, isFirstMove);
+            case Knight:
+                return new Knight(piecePosition, pieceAlliance, isFirstMove);
+            case Bishop:
+                return new Bishop(piecePosition, pieceAlliance, isFirstMove);
+            case Rook:
+                return new Rook(piecePosition, pieceAlliance, isFirstMove);
+            case Queen:
+                return new Queen(piecePosition, pieceAlliance, isFirstMove);
+            case King:
+                return new King(piecePosition, pieceAlliance, isFirstMove);
+            default:
+                throw new RuntimeException("Unknown piece type " + pieceType);
+        }
+    }
+
     public int getPiecePosition() {
         return piecePosition;
     }
 
     public enum PieceType {
-        Pawn("P") {
+        Pawn("P", 100) {
             @Override
             public boolean isKing() {
                 return false;
@@ -73,7 +127,7 @@ public abstract class Piece {
                 return false;
             }
         },
-        Bishop("B") {
+        Bishop("B", 330) {
             @Override
             public boolean isKing() {
                 return false;
@@ -82,7 +136,7 @@ public abstract class Piece {
                 return false;
             }
         },
-        Knight("N") {
+        Knight("N", 320) {
             @Override
             public boolean isKing() {
                 return false;
@@ -91,7 +145,7 @@ public abstract class Piece {
                 return false;
             }
         },
-        Queen("Q") {
+        Queen("Q", 900) {
             @Override
             public boolean isKing() {
                 return false;
@@ -100,7 +154,7 @@ public abstract class Piece {
                 return false;
             }
         },
-        Rook("R") {
+        Rook("R", 500) {
             @Override
             public boolean isKing() {
                 return false;
@@ -109,7 +163,7 @@ public abstract class Piece {
                 return true;
             }
         },
-        King("K") {
+        King("K", 10000) {
             @Override
             public boolean isKing() {
                 return true;
@@ -120,8 +174,14 @@ public abstract class Piece {
         };
 
         private String pieceName;
-        PieceType (final String pieceName) {
+        private final int pieceValue;
+        PieceType (final String pieceName, final int pieceValue) {
             this.pieceName = pieceName;
+            this.pieceValue = pieceValue;
+        }
+
+        public int getPieceValue() {
+            return this.pieceValue;
         }
 
         public abstract boolean isKing();
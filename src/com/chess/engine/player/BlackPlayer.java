@@ -14,8 +14,8 @@ import java.util.List;
 
 public class BlackPlayer extends Player {
 
-    public BlackPlayer(Board board, Collection<Move> whiteStandardLegalMoves, Collection<Move> blackStandardLegalMoves) {
-        super(board, blackStandardLegalMoves, whiteStandardLegalMoves);
+    public BlackPlayer(final Board board) {
+        super(board);
     }
 
     @Override
@@ -33,23 +33,23 @@ public class BlackPlayer extends Player {
     }
 
     @Override
-    public Collection<Move> calculateKingCastles(Collection<Move> playerLegals, Collection<Move> opponentLegals) {
+    public Collection<Move> calculateKingCastles() {
         final List<Move> kingCastles = new ArrayList<>();
 
-        if (this.playerKing.isFirstMove() && !this.isCheck()){
+        if (getPlayerKing().isFirstMove() && !this.isCheck()){
             if(!this.board.getSquare(5).isOccupied() && !this.board.getSquare(6).isOccupied()){
                 final Square rookSquare = this.board.getSquare(7);
                 if(rookSquare.isOccupied() && rookSquare.getPiece().isFirstMove()) {
-                    if(Player.calculateAttacksOnSquare(5, opponentLegals).isEmpty() && Player.calculateAttacksOnSquare(6, opponentLegals).isEmpty() && rookSquare.getPiece().getPieceType().isRook()){
-                        kingCastles.add(new Move.CastleKingSide(this.board, this.playerKing, 6, (Rook)rookSquare.getPiece(), rookSquare.getSquareCoordinate(), 5));
+                    if(isSafeCastleSquare(5) && isSafeCastleSquare(6) && rookSquare.getPiece().getPieceType().isRook()){
+                        kingCastles.add(new Move.CastleKingSide(this.board, getPlayerKing(), 6, (Rook)rookSquare.getPiece(), rookSquare.getSquareCoordinate(), 5));
                     }
                 }
             }
             if(!this.board.getSquare(1).isOccupied() && !this.board.getSquare(2).isOccupied() && !this.board.getSquare(3).isOccupied()){
                 final Square rookSquare = this.board.getSquare(0);
-                if(rookSquare.isOccupied() && rookSquare.getPiece().isFirstMove() && Player.calculateAttacksOnSquare(2, opponentLegals).isEmpty() && Player.calculateAttacksOnSquare(3, opponentLegals).isEmpty()
+                if(rookSquare.isOccupied() && rookSquare.getPiece().isFirstMove() && isSafeCastleSquare(2) && isSafeCastleSquare(3)
                 && rookSquare.getPiece().getPieceType().isRook()) {
-                    kingCastles.add(new Move.CastleQueenSide(this.board, this.playerKing, 2, (Rook)rookSquare.getPiece(), rookSquare.getSquareCoordinate(), 3));
+                    kingCastles.add(new Move.CastleQueenSide(this.board, getPlayerKing(), 2, (Rook)rookSquare.getPiece(), rookSquare.getSquareCoordinate(), 3));
                 }
             }
         }
@@ -3,39 +3,44 @@ package com.chess.engine.player;
 import com.chess.engine.Alliance;
 import com.chess.engine.board.Board;
 import com.chess.engine.board.Move;
+import com.chess.engine.board.MoveGenerator;
+import com.chess.engine.board.MoveList;
+import com.chess.engine.board.PackedMove;
+import com.chess.engine.board.SearchBoard;
 import com.chess.engine.pieces.King;
 import com.chess.engine.pieces.Piece;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 public abstract class Player {
     protected final Board board;
-    protected final King playerKing;
-    protected final Collection<Move> legalMoves;
-    protected final boolean isCheck;
-    Player (final Board board, final Collection<Move> legalMoves, final Collection<Move> opponentMoves){
+    private volatile King playerKing;
+    private volatile Collection<Move> legalMoves;
+    private volatile Map<Integer, Move> legalMoveIndex;
+    private volatile Set<Integer> safeMoveKeys;
+    private volatile Boolean isCheck;
+    Player (final Board board){
         this.board = board;
-        this.playerKing = establishKing();
-        legalMoves.addAll(calculateKingCastles(legalMoves, opponentMoves));
-        this.legalMoves = Collections.unmodifiableCollection(legalMoves);;
-        this.isCheck = !Player.calculateAttacksOnSquare(this.playerKing.getPiecePosition(), opponentMoves).isEmpty();
     }
 
-    protected static Collection<Move> calculateAttacksOnSquare(int piecePosition, Collection<Move> opponentMoves) {
-        final List<Move> attackMoves = new ArrayList<>();
-        for (final Move move: opponentMoves) {
-            if(move.getDestinationCoordinate() == piecePosition) {
-                attackMoves.add(move);
-            }
-        }
-        return Collections.unmodifiableList(attackMoves);
+    protected boolean isSafeCastleSquare(final int square) {
+        return !this.board.isSquareAttacked(square, getOpponent().getAlliance());
     }
 
     public King getPlayerKing() {
-        return this.playerKing;
+        King playerKing = this.playerKing;
+        if (playerKing == null) {
+            playerKing = establishKing();
+            this.playerKing = playerKing;
+        }
+        return playerKing;
     }
     private King establishKing() {
         for ( final Piece piece : getActivePieces()){
@@ -47,31 +52,91 @@ public abstract class Player {
     }
 
     public Collection<Move> getLegalMoves() {
-        return this.legalMoves;
+        Collection<Move> legalMoves = this.legalMoves;
+        if (legalMoves == null) {
+            legalMoves = calculateLegalMoves();
+            this.legalMoves = legalMoves;
+        }
+        return legalMoves;
+    }
+
+    private Collection<Move> calculateLegalMoves() {
+        final Collection<Move> standardLegalMoves = this.board.getStandardLegalMoves(getAlliance());
+        final List<Move> legalMoves = new ArrayList<>(standardLegalMoves);
+        legalMoves.addAll(calculateKingCastles());
+        return Collections.unmodifiableList(legalMoves);
     }
-    public boolean isMoveLegal(Move move){
-        return this.legalMoves.contains(move);
+
+    public Move getLegalMove(final int moveKey) {
+        final Move move = getLegalMoveIndex().get(moveKey);
+        return move != null ? move : Move.NullMove;
+    }
+
+    private Map<Integer, Move> getLegalMoveIndex() {
+        Map<Integer, Move> legalMoveIndex = this.legalMoveIndex;
+        if (legalMoveIndex == null) {
+            final Collection<Move> legalMoves = getLegalMoves();
+            legalMoveIndex = new HashMap<>(legalMoves.size() * 2);
+            for (final Move move : legalMoves) {
+                legalMoveIndex.put(move.getMoveKey(), move);
+            }
+            this.legalMoveIndex = legalMoveIndex;
+        }
+        return legalMoveIndex;
+    }
+
+    public boolean isMoveLegal(final Move move){
+        return move.equals(getLegalMoveIndex().get(move.getMoveKey()));
     }
 
     public boolean isCheck(){
-        return this.isCheck;
+        Boolean isCheck = this.isCheck;
+        if (isCheck == null) {
+            isCheck = this.board.isSquareAttacked(getPlayerKing().getPiecePosition(), getOpponent().getAlliance());
+            this.isCheck = isCheck;
+        }
+        return isCheck;
     }
     public boolean isCheckmate(){
-        return this.isCheck && !hasEscapeMoves();
+        return isCheck() && !hasEscapeMoves();
     }
 
     private boolean hasEscapeMoves() {
-        for ( final Move move : this.legalMoves){
-            final MoveTransition moveTransition = makeMove(move);
-            if (moveTransition.getMoveStatus().isDone()){
+        for ( final Move move : getLegalMoves()){
+            if (isMoveSafe(move)){
                 return true;
             }
         }
         return false;
     }
 
+    private boolean isMoveSafe(final Move move) {
+        if (getAlliance() == this.board.currentPlayer().getAlliance()) {
+            return getSafeMoveKeys().contains(move.getMoveKey());
+        }
+        final Board transitionBoard = move.execute();
+        return !transitionBoard.isSquareAttacked(transitionBoard.currentPlayer().getOpponent().getPlayerKing().getPiecePosition(),
+                transitionBoard.currentPlayer().getAlliance());
+    }
+
+    /* keys of the moves that do not leave the king in check, from the pin and check aware generator */
+    private Set<Integer> getSafeMoveKeys() {
+        Set<Integer> safeMoveKeys = this.safeMoveKeys;
+        if (safeMoveKeys == null) {
+            final MoveList moves = new MoveList();
+            MoveGenerator.generateLegalMoves(new SearchBoard(this.board), moves);
+            safeMoveKeys = new HashSet<>(moves.size() * 2);
+            for (int i = 0; i < moves.size(); i++) {
+                final int move = moves.get(i);
+                safeMoveKeys.add(Move.createMoveKey(PackedMove.source(move), PackedMove.destination(move), PackedMove.promotionType(move)));
+            }
+            this.safeMoveKeys = safeMoveKeys;
+        }
+        return safeMoveKeys;
+    }
+
     public boolean isStalemate(){
-        return !this.isCheck && !hasEscapeMoves();
+        return !isCheck() && !hasEscapeMoves();
     }
     public boolean isCastle(){
         return false;
@@ -81,17 +146,15 @@ public abstract class Player {
         if(!isMoveLegal(move)) {
             return new MoveTransition(this.board, move, MoveStatus.IllegalMove);
         }
-        final Board transitionBoard = move.execute();
-        final Collection<Move> kingAttacks = Player.calculateAttacksOnSquare(transitionBoard.currentPlayer().getOpponent().getPlayerKing().getPiecePosition(), transitionBoard.currentPlayer().getLegalMoves());
-        if(!kingAttacks.isEmpty()) {
+        if(!isMoveSafe(move)) {
             return new MoveTransition(this.board, move, MoveStatus.LeavesPlayerInCheck);
         }
-        return new MoveTransition(transitionBoard, move, MoveStatus.Done);
+        return new MoveTransition(move.execute(), move, MoveStatus.Done);
     }
 
     public abstract Collection<Piece> getActivePieces();
 
     public abstract Alliance getAlliance();
     public abstract Player getOpponent();
-    public abstract Collection<Move> calculateKingCastles(Collection<Move> playerLegals, Collection<Move> opponentLegals);
+    public abstract Collection<Move> calculateKingCastles();
 }
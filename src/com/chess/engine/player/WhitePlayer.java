@@ -13,8 +13,8 @@ import java.util.Collections;
 import java.util.List;
 
 public class WhitePlayer extends Player {
-    public WhitePlayer(Board board, Collection<Move> whiteStandardLegalMoves, Collection<Move> blackStandardLegalMoves) {
-        super(board, whiteStandardLegalMoves, blackStandardLegalMoves);
+    public WhitePlayer(final Board board) {
+        super(board);
     }
 
     @Override
@@ -32,23 +32,23 @@ public class WhitePlayer extends Player {
         return this.board.blackPlayer() ;
     }
 
-    public Collection<Move> calculateKingCastles(Collection<Move> playerLegals, Collection<Move> opponentLegals) {
+    public Collection<Move> calculateKingCastles() {
         final List<Move> kingCastles = new ArrayList<>();
 
-        if (this.playerKing.isFirstMove() && !this.isCheck()){
+        if (getPlayerKing().isFirstMove() && !this.isCheck()){
             if(!this.board.getSquare(61).isOccupied() && !this.board.getSquare(62).isOccupied()){
                 final Square rookSquare = this.board.getSquare(63);
                 if(rookSquare.isOccupied() && rookSquare.getPiece().isFirstMove()) {
-                    if(Player.calculateAttacksOnSquare(61, opponentLegals).isEmpty() && Player.calculateAttacksOnSquare(62, opponentLegals).isEmpty() && rookSquare.getPiece().getPieceType().isRook()){
-                        kingCastles.add(new Move.CastleKingSide(this.board, this.playerKing, 62, (Rook)rookSquare.getPiece(), rookSquare.getSquareCoordinate(), 61));
+                    if(isSafeCastleSquare(61) && isSafeCastleSquare(62) && rookSquare.getPiece().getPieceType().isRook()){
+                        kingCastles.add(new Move.CastleKingSide(this.board, getPlayerKing(), 62, (Rook)rookSquare.getPiece(), rookSquare.getSquareCoordinate(), 61));
                     }
                 }
             }
             if(!this.board.getSquare(59).isOccupied() && !this.board.getSquare(58).isOccupied() && !this.board.getSquare(57).isOccupied()){
                 final Square rookSquare = this.board.getSquare(56);
-                if(rookSquare.isOccupied() && rookSquare.getPiece().isFirstMove() && Player.calculateAttacksOnSquare(58, opponentLegals).isEmpty() && Player.calculateAttacksOnSquare(59, opponentLegals).isEmpty()
+                if(rookSquare.isOccupied() && rookSquare.getPiece().isFirstMove() && isSafeCastleSquare(58) && isSafeCastleSquare(59)
                         && rookSquare.getPiece().getPieceType().isRook()) {
-                    kingCastles.add(new Move.CastleQueenSide(this.board, this.playerKing, 58, (Rook)rookSquare.getPiece(), rookSquare.getSquareCoordinate(), 59));
+                    kingCastles.add(new Move.CastleQueenSide(this.board, getPlayerKing(), 58, (Rook)rookSquare.getPiece(), rookSquare.getSquareCoordinate(), 59));
                 }
             }
         }
@@ -0,0 +1,374 @@
+package com.chess.engine.search;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.chess.engine.board.MoveGenerator;
+import com.chess.engine.board.MoveList;
+import com.chess.engine.board.PackedMove;
+import com.chess.engine.board.SearchBoard;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/*
+ * Iterative deepening negamax alpha-beta search. Each iteration after the first
+ * few starts with a narrow aspiration window around the previous score and
+ * widens it on a fail. The search stops at the depth limit, when the node
+ * budget is spent or when the time budget runs out; an interrupted iteration is
+ * discarded and the last completed one is returned.
+ *
+ * The tree is walked on a SearchBoard with packed int moves handed out by one
+ * preallocated MovePicker per ply, so searching a node allocates nothing; Move
+ * objects are only created for the returned principal variation. Quiet moves
+ * that cause a cutoff become killer moves for their ply and earn history
+ * credit, which the pickers use to order quiet moves. Leaves are resolved by
+ * a quiescence search over captures before they are evaluated.
+ */
+public class AlphaBeta implements MoveStrategy {
+
+    public static final int Infinity = 32001;
+    public static final int MateScore = 32000;
+    public static final int MateThreshold = MateScore - SearchLimits.MaxSearchDepth * 2;
+
+    private static final int AspirationDepth = 4;
+    private static final int AspirationWindow = 50;
+    private static final int CheckInterval = 1024;
+    private static final int KillersPerPly = 2;
+    private static final int HistoryLimit = 1 << 20;
+
+    private final BoardEvaluator evaluator;
+    private final TranspositionTable transpositionTable;
+    private final SearchLimits limits;
+
+    private final int[][] principalVariation;
+    private final int[] principalVariationLength;
+    private final MovePicker[] movePickers;
+    private final int[][] killers;
+    private final int[][] history;
+    private long nodes;
+    private long deadline;
+    private volatile boolean stopped;
+
+    public AlphaBeta(final BoardEvaluator evaluator, final TranspositionTable transpositionTable, final SearchLimits limits) {
+        this.evaluator = evaluator;
+        this.transpositionTable = transpositionTable;
+        this.limits = limits;
+        this.principalVariation = new int[SearchLimits.MaxSearchDepth + 1][SearchLimits.MaxSearchDepth + 1];
+        this.principalVariationLength = new int[SearchLimits.MaxSearchDepth + 1];
+        this.movePickers = new MovePicker[SearchLimits.MaxSearchDepth + 1];
+        for (int ply = 0; ply < this.movePickers.length; ply++) {
+            this.movePickers[ply] = new MovePicker();
+        }
+        this.killers = new int[SearchLimits.MaxSearchDepth + 1][KillersPerPly];
+        this.history = new int[Alliance.values().length][64 * 64];
+    }
+
+    @Override
+    public Move execute(final Board board) {
+        return search(board).getBestMove();
+    }
+
+    public SearchResult search(final Board board) {
+        this.transpositionTable.newSearch();
+        clearStop();
+        return iterativeDeepening(board, 1, false);
+    }
+
+    /*
+     * Re-arms the searcher before a search is submitted. The search itself never
+     * clears the flag, so a stop() that lands before a helper thread gets to run
+     * still holds when it starts.
+     */
+    void clearStop() {
+        this.stopped = false;
+    }
+
+    SearchResult iterativeDeepening(final Board board, final int startDepth, final boolean isHelper) {
+        final long startTime = System.currentTimeMillis();
+        this.deadline = this.limits.hasTimeLimit() ? startTime + this.limits.getTimeMillis() : Long.MAX_VALUE;
+        this.nodes = 0;
+        for (final int[] plyKillers : this.killers) {
+            Arrays.fill(plyKillers, PackedMove.NoMove);
+        }
+        ageHistory();
+
+        final SearchBoard searchBoard = new SearchBoard(board);
+        final Move fallbackMove = isHelper ? Move.NullMove : firstLegalMove(board, searchBoard);
+        SearchResult result = new SearchResult(fallbackMove, Collections.emptyList(), 0, 0, 0, 0);
+        int score = 0;
+        for (int depth = startDepth; depth <= this.limits.getMaxDepth(); depth++) {
+            final int iterationScore = aspirationSearch(searchBoard, depth, score);
+            if (this.stopped) {
+                break;
+            }
+            score = iterationScore;
+            final List<Move> pv = extractPrincipalVariation(board);
+            result = new SearchResult(pv.isEmpty() ? Move.NullMove : pv.get(0), pv, score, depth,
+                    this.nodes, System.currentTimeMillis() - startTime);
+            if (pv.isEmpty() || (!isHelper && (Math.abs(score) >= MateThreshold || isHalfTimeSpent(startTime)))) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    public void stop() {
+        this.stopped = true;
+    }
+
+    /* forgets the table entries and history credit left by earlier searches, so the next one depends only on its position */
+    public void clear() {
+        this.transpositionTable.clear();
+        for (final int[] sideHistory : this.history) {
+            Arrays.fill(sideHistory, 0);
+        }
+    }
+
+    private int aspirationSearch(final SearchBoard board, final int depth, final int previousScore) {
+        if (depth < AspirationDepth) {
+            return alphaBeta(board, depth, -Infinity, Infinity, 0);
+        }
+        int window = AspirationWindow;
+        int alpha = Math.max(previousScore - window, -Infinity);
+        int beta = Math.min(previousScore + window, Infinity);
+        while (true) {
+            final int score = alphaBeta(board, depth, alpha, beta, 0);
+            if (this.stopped) {
+                return score;
+            }
+            if (score <= alpha) {
+                alpha = Math.max(score - window, -Infinity);
+            } else if (score >= beta) {
+                beta = Math.min(score + window, Infinity);
+            } else {
+                return score;
+            }
+            window *= 2;
+        }
+    }
+
+    private int alphaBeta(final SearchBoard board, final int depth, int alpha, final int beta, final int ply) {
+        this.principalVariationLength[ply] = ply;
+        if (isOutOfBudget()) {
+            return 0;
+        }
+        this.nodes++;
+
+        if (ply > 0 && board.isRepetition()) {
+            return 0;
+        }
+
+        final long key = board.getZobristKey();
+        final long entry = this.transpositionTable.probe(key);
+        int hashMove = PackedMove.NoMove;
+        if (entry != TranspositionTable.NoEntry) {
+            hashMove = TranspositionTable.entryMove(entry);
+            if (ply > 0 && TranspositionTable.entryDepth(entry) >= depth) {
+                final int hashScore = fromTranspositionScore(TranspositionTable.entryScore(entry), ply);
+                final int bound = TranspositionTable.entryBound(entry);
+                if (bound == TranspositionTable.ExactBound ||
+                        (bound == TranspositionTable.LowerBound && hashScore >= beta) ||
+                        (bound == TranspositionTable.UpperBound && hashScore <= alpha)) {
+                    return hashScore;
+                }
+            }
+        }
+
+        if (depth == 0 || ply >= SearchLimits.MaxSearchDepth) {
+            return quiescence(board, alpha, beta, ply);
+        }
+
+        final MovePicker picker = this.movePickers[ply];
+        final int[] sideHistory = this.history[board.getSideToMove().ordinal()];
+        picker.reset(board, hashMove, this.killers[ply], sideHistory);
+
+        final int originalAlpha = alpha;
+        int bestScore = -Infinity;
+        int bestMove = PackedMove.NoMove;
+        for (int move = picker.next(); move != PackedMove.NoMove; move = picker.next()) {
+            board.makeMove(move);
+            final int score = -alphaBeta(board, depth - 1, -beta, -alpha, ply + 1);
+            board.unmakeMove();
+            if (this.stopped) {
+                return 0;
+            }
+            if (score > bestScore) {
+                bestScore = score;
+                bestMove = move;
+                if (score > alpha) {
+                    alpha = score;
+                    updatePrincipalVariation(move, ply);
+                    if (alpha >= beta) {
+                        if (!PackedMove.isNoisy(move)) {
+                            updateKillers(move, ply);
+                            updateHistory(sideHistory, move, depth);
+                        }
+                        break;
+                    }
+                }
+            }
+        }
+
+        if (bestMove == PackedMove.NoMove) {
+            return board.isInCheck(board.getSideToMove()) ? -MateScore + ply : 0;
+        }
+
+        final int bound = bestScore >= beta ? TranspositionTable.LowerBound :
+                bestScore > originalAlpha ? TranspositionTable.ExactBound : TranspositionTable.UpperBound;
+        this.transpositionTable.store(key, PackedMove.identity(bestMove), depth, bound, toTranspositionScore(bestScore, ply));
+        return bestScore;
+    }
+
+    /*
+     * Resolves captures before a leaf is evaluated: the side to move may stand
+     * pat on the static score or try captures and promotions that do not lose
+     * material by static exchange. A side in check must answer it, so every
+     * evasion is searched instead.
+     */
+    private int quiescence(final SearchBoard board, int alpha, final int beta, final int ply) {
+        this.principalVariationLength[ply] = ply;
+        if (isOutOfBudget()) {
+            return 0;
+        }
+        this.nodes++;
+        if (ply >= SearchLimits.MaxSearchDepth) {
+            return this.evaluator.evaluate(board);
+        }
+
+        final boolean inCheck = board.isInCheck(board.getSideToMove());
+        int bestScore = -Infinity;
+        final MovePicker picker = this.movePickers[ply];
+        if (inCheck) {
+            picker.reset(board, PackedMove.NoMove, this.killers[ply], this.history[board.getSideToMove().ordinal()]);
+        } else {
+            bestScore = this.evaluator.evaluate(board);
+            if (bestScore >= beta) {
+                return bestScore;
+            }
+            alpha = Math.max(alpha, bestScore);
+            picker.resetNoisy(board);
+        }
+
+        for (int move = picker.next(); move != PackedMove.NoMove; move = picker.next()) {
+            board.makeMove(move);
+            final int score = -quiescence(board, -beta, -alpha, ply + 1);
+            board.unmakeMove();
+            if (this.stopped) {
+                return 0;
+            }
+            if (score > bestScore) {
+                bestScore = score;
+                if (score > alpha) {
+                    alpha = score;
+                    updatePrincipalVariation(move, ply);
+                    if (alpha >= beta) {
+                        break;
+                    }
+                }
+            }
+        }
+
+        if (inCheck && bestScore == -Infinity) {
+            return -MateScore + ply;
+        }
+        return bestScore;
+    }
+
+    private static Move firstLegalMove(final Board board, final SearchBoard searchBoard) {
+        final MoveList moves = new MoveList();
+        MoveGenerator.generateLegalMoves(searchBoard, moves);
+        return moves.isEmpty() ? Move.NullMove : PackedMove.toMove(board, moves.get(0));
+    }
+
+    private void updateKillers(final int move, final int ply) {
+        final int[] plyKillers = this.killers[ply];
+        if (PackedMove.identity(plyKillers[0]) == PackedMove.identity(move)) {
+            return;
+        }
+        System.arraycopy(plyKillers, 0, plyKillers, 1, plyKillers.length - 1);
+        plyKillers[0] = move;
+    }
+
+    private void updateHistory(final int[] sideHistory, final int move, final int depth) {
+        final int index = MovePicker.historyIndex(move);
+        sideHistory[index] += depth * depth;
+        if (sideHistory[index] > HistoryLimit) {
+            ageHistory();
+        }
+    }
+
+    /* halving keeps the ordering while letting recent cutoffs outweigh old ones */
+    private void ageHistory() {
+        for (final int[] sideHistory : this.history) {
+            for (int i = 0; i < sideHistory.length; i++) {
+                sideHistory[i] /= 2;
+            }
+        }
+    }
+
+    static int toTranspositionScore(final int score, final int ply) {
+        if (score >= MateThreshold) {
+            return score + ply;
+        }
+        if (score <= -MateThreshold) {
+            return score - ply;
+        }
+        return score;
+    }
+
+    static int fromTranspositionScore(final int score, final int ply) {
+        if (score >= MateThreshold) {
+            return score - ply;
+        }
+        if (score <= -MateThreshold) {
+            return score + ply;
+        }
+        return score;
+    }
+
+    private void updatePrincipalVariation(final int move, final int ply) {
+        final int[] line = this.principalVariation[ply];
+        line[ply] = move;
+        final int childLength = this.principalVariationLength[ply + 1];
+        for (int i = ply + 1; i < childLength; i++) {
+            line[i] = this.principalVariation[ply + 1][i];
+        }
+        this.principalVariationLength[ply] = Math.max(childLength, ply + 1);
+    }
+
+    private List<Move> extractPrincipalVariation(final Board root) {
+        final List<Move> pv = new ArrayList<>(this.principalVariationLength[0]);
+        Board board = root;
+        for (int i = 0; i < this.principalVariationLength[0]; i++) {
+            final Move move = PackedMove.toMove(board, this.principalVariation[0][i]);
+            if (move == Move.NullMove) {
+                break;
+            }
+            pv.add(move);
+            board = board.currentPlayer().makeMove(move).getTransitionBoard();
+        }
+        return Collections.unmodifiableList(pv);
+    }
+
+    private boolean isOutOfBudget() {
+        if (this.stopped) {
+            return true;
+        }
+        if (this.nodes >= this.limits.getMaxNodes() ||
+                ((this.nodes % CheckInterval) == 0 && System.currentTimeMillis() >= this.deadline)) {
+            this.stopped = true;
+        }
+        return this.stopped;
+    }
+
+    private boolean isHalfTimeSpent(final long startTime) {
+        return this.limits.hasTimeLimit() && System.currentTimeMillis() - startTime >= this.limits.getTimeMillis() / 2;
+    }
+
+    public long getNodes() {
+        return this.nodes;
+    }
+}
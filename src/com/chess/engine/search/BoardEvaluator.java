@@ -0,0 +1,11 @@
+package com.chess.engine.search;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.SearchBoard;
+
+public interface BoardEvaluator {
+
+    int evaluate(Board board);
+
+    int evaluate(SearchBoard board);
+}
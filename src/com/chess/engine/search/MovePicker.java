@@ -0,0 +1,225 @@
+package com.chess.engine.search;
+
+import com.chess.engine.board.MoveGenerator;
+import com.chess.engine.board.MoveList;
+import com.chess.engine.board.PackedMove;
+import com.chess.engine.board.SearchBoard;
+import com.chess.engine.board.StaticExchange;
+import com.chess.engine.pieces.Piece;
+
+/*
+ * Hands out the legal moves of one node best first, generating them in stages
+ * so that a cutoff early on saves the rest of the work: the hash move, then
+ * captures and promotions by MVV-LVA (most valuable victim, least valuable
+ * attacker), then the killer moves of the ply, then the remaining quiet moves
+ * by their history score, and last the captures that static exchange
+ * evaluation says lose material. For quiescence search the picker hands out
+ * only the captures and promotions that do not lose material.
+ * Each ply owns one picker, reset per node.
+ */
+public class MovePicker {
+
+    private static final int HashStage = 0;
+    private static final int GenerateNoisyStage = 1;
+    private static final int NoisyStage = 2;
+    private static final int KillerStage = 3;
+    private static final int GenerateQuietStage = 4;
+    private static final int QuietStage = 5;
+    private static final int BadNoisyStage = 6;
+    private static final int DoneStage = 7;
+
+    private static final int[] NoKillers = {};
+
+    private static final int[] AttackerRanks = new int[Piece.PieceType.values().length];
+
+    static {
+        AttackerRanks[Piece.PieceType.Pawn.ordinal()] = 0;
+        AttackerRanks[Piece.PieceType.Knight.ordinal()] = 1;
+        AttackerRanks[Piece.PieceType.Bishop.ordinal()] = 2;
+        AttackerRanks[Piece.PieceType.Rook.ordinal()] = 3;
+        AttackerRanks[Piece.PieceType.Queen.ordinal()] = 4;
+        AttackerRanks[Piece.PieceType.King.ordinal()] = 5;
+    }
+
+    private final MoveList moves;
+    private final MoveList scratch;
+    private final MoveList badNoisyMoves;
+    private final int[] scores;
+    private final int[] exchangeGains;
+
+    private SearchBoard board;
+    private int hashMove;
+    private int[] killers;
+    private int[] history;
+    private int stage;
+    private int index;
+    private int killerIndex;
+    private boolean noisyOnly;
+
+    public MovePicker() {
+        this.moves = new MoveList();
+        this.scratch = new MoveList();
+        this.badNoisyMoves = new MoveList();
+        this.scores = new int[MoveList.MaxMoves];
+        this.exchangeGains = new int[StaticExchange.MaxExchanges];
+    }
+
+    public void reset(final SearchBoard board, final int hashMove, final int[] killers, final int[] history) {
+        this.board = board;
+        this.hashMove = hashMove;
+        this.killers = killers;
+        this.history = history;
+        this.stage = HashStage;
+        this.killerIndex = 0;
+        this.noisyOnly = false;
+        this.badNoisyMoves.clear();
+    }
+
+    public void resetNoisy(final SearchBoard board) {
+        this.board = board;
+        this.hashMove = PackedMove.NoMove;
+        this.killers = NoKillers;
+        this.history = null;
+        this.stage = GenerateNoisyStage;
+        this.killerIndex = 0;
+        this.noisyOnly = true;
+        this.badNoisyMoves.clear();
+    }
+
+    public int next() {
+        while (true) {
+            switch (this.stage) {
+                case HashStage:
+                    this.stage = GenerateNoisyStage;
+                    if (this.hashMove != PackedMove.NoMove) {
+                        this.hashMove = MoveGenerator.findLegalMove(this.board, this.hashMove, this.scratch);
+                        if (this.hashMove != PackedMove.NoMove) {
+                            return this.hashMove;
+                        }
+                    }
+                    break;
+                case GenerateNoisyStage:
+                    this.moves.clear();
+                    MoveGenerator.generateLegalNoisyMoves(this.board, this.moves);
+                    for (int i = 0; i < this.moves.size(); i++) {
+                        this.scores[i] = mvvLvaScore(this.moves.get(i));
+                    }
+                    this.index = 0;
+                    this.stage = NoisyStage;
+                    break;
+                case NoisyStage:
+                    while (this.index < this.moves.size()) {
+                        final int move = pickBest();
+                        if (isHashMove(move)) {
+                            continue;
+                        }
+                        if (!isLosingExchange(move)) {
+                            return move;
+                        }
+                        if (!this.noisyOnly) {
+                            this.badNoisyMoves.add(move);
+                        }
+                    }
+                    this.stage = this.noisyOnly ? DoneStage : KillerStage;
+                    break;
+                case KillerStage:
+                    while (this.killerIndex < this.killers.length) {
+                        final int killer = this.killers[this.killerIndex++];
+                        if (killer == PackedMove.NoMove || isHashMove(killer) || isEarlierKiller(killer, this.killerIndex - 1)) {
+                            continue;
+                        }
+                        final int move = MoveGenerator.findLegalMove(this.board, killer, this.scratch);
+                        if (move != PackedMove.NoMove && !PackedMove.isNoisy(move)) {
+                            return move;
+                        }
+                    }
+                    this.stage = GenerateQuietStage;
+                    break;
+                case GenerateQuietStage:
+                    this.moves.clear();
+                    MoveGenerator.generateLegalQuietMoves(this.board, this.moves);
+                    for (int i = 0; i < this.moves.size(); i++) {
+                        this.scores[i] = this.history[historyIndex(this.moves.get(i))];
+                    }
+                    this.index = 0;
+                    this.stage = QuietStage;
+                    break;
+                case QuietStage:
+                    while (this.index < this.moves.size()) {
+                        final int move = pickBest();
+                        if (!isHashMove(move) && !isKiller(move)) {
+                            return move;
+                        }
+                    }
+                    this.index = 0;
+                    this.stage = BadNoisyStage;
+                    break;
+                case BadNoisyStage:
+                    if (this.index < this.badNoisyMoves.size()) {
+                        return this.badNoisyMoves.get(this.index++);
+                    }
+                    this.stage = DoneStage;
+                    break;
+                default:
+                    return PackedMove.NoMove;
+            }
+        }
+    }
+
+    public static int historyIndex(final int move) {
+        return PackedMove.identity(move) & 0xFFF;
+    }
+
+    static int mvvLvaScore(final int move) {
+        final Piece.PieceType victim = PackedMove.capturedType(move);
+        final Piece.PieceType promotion = PackedMove.promotionType(move);
+        final int gain = (victim == null ? 0 : victim.getPieceValue()) + (promotion == null ? 0 : promotion.getPieceValue());
+        return gain * 8 - AttackerRanks[PackedMove.movedType(move).ordinal()];
+    }
+
+    /* taking a piece worth at least the capturer never loses material, so most captures skip the exchange */
+    private boolean isLosingExchange(final int move) {
+        final Piece.PieceType victim = PackedMove.capturedType(move);
+        if (victim != null && !PackedMove.isPromotion(move) &&
+                victim.getPieceValue() >= PackedMove.movedType(move).getPieceValue()) {
+            return false;
+        }
+        return StaticExchange.evaluate(this.board, move, this.exchangeGains) < 0;
+    }
+
+    private int pickBest() {
+        int best = this.index;
+        for (int i = this.index + 1; i < this.moves.size(); i++) {
+            if (this.scores[i] > this.scores[best]) {
+                best = i;
+            }
+        }
+        this.moves.swap(this.index, best);
+        final int score = this.scores[this.index];
+        this.scores[this.index] = this.scores[best];
+        this.scores[best] = score;
+        return this.moves.get(this.index++);
+    }
+
+    private boolean isHashMove(final int move) {
+        return this.hashMove != PackedMove.NoMove && PackedMove.identity(move) == PackedMove.identity(this.hashMove);
+    }
+
+    private boolean isKiller(final int move) {
+        for (final int killer : this.killers) {
+            if (killer != PackedMove.NoMove && PackedMove.identity(killer) == PackedMove.identity(move)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isEarlierKiller(final int move, final int killerIndex) {
+        for (int i = 0; i < killerIndex; i++) {
+            if (PackedMove.identity(this.killers[i]) == PackedMove.identity(move)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,96 @@
+package com.chess.engine.search;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/*
+ * Lazy SMP: every thread runs its own iterative deepening search of the same
+ * root position and they cooperate only through the shared transposition
+ * table. Helper threads start one ply deeper on alternate threads so they fill
+ * the table ahead of the main thread; the main thread's result is the answer
+ * and helpers are stopped as soon as it finishes. With one thread the search
+ * runs on the caller's thread and is fully deterministic.
+ */
+public class ParallelSearch implements MoveStrategy {
+
+    private final TranspositionTable transpositionTable;
+    private final AlphaBeta[] searchers;
+    private final ExecutorService helperPool;
+
+    public ParallelSearch(final BoardEvaluator evaluator, final TranspositionTable transpositionTable,
+                          final SearchLimits limits, final int threadCount) {
+        if (threadCount < 1) {
+            throw new RuntimeException("Search needs at least one thread, got " + threadCount);
+        }
+        this.transpositionTable = transpositionTable;
+        this.searchers = new AlphaBeta[threadCount];
+        for (int i = 0; i < threadCount; i++) {
+            this.searchers[i] = new AlphaBeta(evaluator, transpositionTable, limits);
+        }
+        this.helperPool = threadCount > 1 ? Executors.newFixedThreadPool(threadCount - 1, runnable -> {
+            final Thread thread = new Thread(runnable, "search-helper");
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
+    }
+
+    public ParallelSearch(final BoardEvaluator evaluator, final TranspositionTable transpositionTable, final SearchLimits limits) {
+        this(evaluator, transpositionTable, limits, Runtime.getRuntime().availableProcessors());
+    }
+
+    public int getThreadCount() {
+        return this.searchers.length;
+    }
+
+    @Override
+    public Move execute(final Board board) {
+        return search(board).getBestMove();
+    }
+
+    public SearchResult search(final Board board) {
+        this.transpositionTable.newSearch();
+        for (final AlphaBeta searcher : this.searchers) {
+            searcher.clearStop();
+        }
+        final List<Future<SearchResult>> helpers = new ArrayList<>(this.searchers.length - 1);
+        for (int i = 1; i < this.searchers.length; i++) {
+            final AlphaBeta helper = this.searchers[i];
+            final int startDepth = 1 + (i % 2);
+            helpers.add(this.helperPool.submit(() -> helper.iterativeDeepening(board, startDepth, true)));
+        }
+
+        final SearchResult mainResult = this.searchers[0].iterativeDeepening(board, 1, false);
+
+        long totalNodes = mainResult.getNodes();
+        for (int i = 1; i < this.searchers.length; i++) {
+            this.searchers[i].stop();
+        }
+        for (final Future<SearchResult> helper : helpers) {
+            try {
+                helper.get();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (final ExecutionException e) {
+                throw new RuntimeException("Search helper failed", e.getCause());
+            }
+        }
+        for (int i = 1; i < this.searchers.length; i++) {
+            totalNodes += this.searchers[i].getNodes();
+        }
+        return new SearchResult(mainResult.getBestMove(), mainResult.getPrincipalVariation(), mainResult.getScore(),
+                mainResult.getDepth(), totalNodes, mainResult.getElapsedMillis());
+    }
+
+    public void shutdown() {
+        if (this.helperPool != null) {
+            this.helperPool.shutdownNow();
+        }
+    }
+}
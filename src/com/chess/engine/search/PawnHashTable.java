@@ -0,0 +1,84 @@
+package com.chess.engine.search;
+
+/*
+ * Fixed-size cache of pawn-structure scores keyed by the pawn-only Zobrist
+ * key. Entries are grouped in buckets of two kept in most-recently-used
+ * order: a hit moves its entry to the front and a new structure pushes the
+ * older of the two out. Each search thread owns its own table, so no
+ * synchronization is needed.
+ */
+public class PawnHashTable {
+
+    public static final int DefaultEntries = 1 << 16;
+
+    private static final int BucketSize = 2;
+
+    private final long[] keys;
+    private final int[] scores;
+    private final boolean[] used;
+    private final int indexMask;
+    private long hits;
+    private long misses;
+
+    public PawnHashTable(final int entries) {
+        if (entries < 1) {
+            throw new RuntimeException("Pawn hash table needs at least one entry, got " + entries);
+        }
+        final int capacity = Math.max(Integer.highestOneBit(entries), BucketSize);
+        this.keys = new long[capacity];
+        this.scores = new int[capacity];
+        this.used = new boolean[capacity];
+        this.indexMask = capacity / BucketSize - 1;
+    }
+
+    public PawnHashTable() {
+        this(DefaultEntries);
+    }
+
+    public int getScore(final long pawnKey, final long whitePawns, final long blackPawns) {
+        final int first = ((int) (pawnKey ^ (pawnKey >>> 32)) & this.indexMask) * BucketSize;
+        final int second = first + 1;
+        if (this.used[first] && this.keys[first] == pawnKey) {
+            this.hits++;
+            return this.scores[first];
+        }
+        final int score;
+        if (this.used[second] && this.keys[second] == pawnKey) {
+            this.hits++;
+            score = this.scores[second];
+        } else {
+            this.misses++;
+            score = PawnStructure.evaluate(whitePawns, blackPawns);
+        }
+        this.keys[second] = this.keys[first];
+        this.scores[second] = this.scores[first];
+        this.used[second] = this.used[first];
+        this.keys[first] = pawnKey;
+        this.scores[first] = score;
+        this.used[first] = true;
+        return score;
+    }
+
+    public int getCapacity() {
+        return this.keys.length;
+    }
+
+    public long getHits() {
+        return this.hits;
+    }
+
+    public long getMisses() {
+        return this.misses;
+    }
+
+    public double getHitRate() {
+        final long probes = this.hits + this.misses;
+        return probes == 0 ? 0.0 : (double) this.hits / probes;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Pawn hash %d entries, hits %d, misses %d, hit rate %.1f%%",
+                getCapacity(), getHits(), getMisses(), getHitRate() * 100);
+    }
+}
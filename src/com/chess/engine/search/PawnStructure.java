@@ -0,0 +1,89 @@
+package com.chess.engine.search;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.board.BitBoard;
+
+/*
+ * Pawn-structure terms for both sides: passed pawns by how far they have
+ * advanced, doubled pawns and isolated pawns. The result is White minus Black
+ * packed as a middlegame and an endgame score in one int, see pack.
+ */
+public class PawnStructure {
+
+    private static final int[] PassedMiddlegameBonus = {0, 5, 10, 15, 25, 40, 60, 0};
+    private static final int[] PassedEndgameBonus = {0, 10, 20, 35, 60, 100, 150, 0};
+    private static final int DoubledMiddlegamePenalty = 10;
+    private static final int DoubledEndgamePenalty = 20;
+    private static final int IsolatedMiddlegamePenalty = 10;
+    private static final int IsolatedEndgamePenalty = 15;
+
+    private static final long[] FileMasks = new long[8];
+    private static final long[] AdjacentFileMasks = new long[8];
+    private static final long[][] PassedPawnMasks = new long[2][64];
+
+    static {
+        for (int file = 0; file < 8; file++) {
+            FileMasks[file] = BitBoard.FirstColumn << file;
+        }
+        for (int file = 0; file < 8; file++) {
+            AdjacentFileMasks[file] = (file > 0 ? FileMasks[file - 1] : BitBoard.Empty) | (file < 7 ? FileMasks[file + 1] : BitBoard.Empty);
+        }
+        for (int square = 0; square < 64; square++) {
+            final long files = FileMasks[square % 8] | AdjacentFileMasks[square % 8];
+            for (int other = 0; other < 64; other++) {
+                if (BitBoard.isSet(files, other)) {
+                    if (other / 8 < square / 8) {
+                        PassedPawnMasks[Alliance.White.ordinal()][square] |= BitBoard.squareBit(other);
+                    } else if (other / 8 > square / 8) {
+                        PassedPawnMasks[Alliance.Black.ordinal()][square] |= BitBoard.squareBit(other);
+                    }
+                }
+            }
+        }
+    }
+
+    private PawnStructure() {
+        throw new RuntimeException("No instantiation");
+    }
+
+    public static int evaluate(final long whitePawns, final long blackPawns) {
+        return sideScore(Alliance.White, whitePawns, blackPawns) - sideScore(Alliance.Black, blackPawns, whitePawns);
+    }
+
+    public static int pack(final int middlegameScore, final int endgameScore) {
+        return (middlegameScore << 16) + endgameScore;
+    }
+
+    public static int middlegameScore(final int packedScore) {
+        return (packedScore + 0x8000) >> 16;
+    }
+
+    public static int endgameScore(final int packedScore) {
+        return (short) packedScore;
+    }
+
+    private static int sideScore(final Alliance alliance, final long pawns, final long enemyPawns) {
+        int middlegameScore = 0;
+        int endgameScore = 0;
+        for (int file = 0; file < 8; file++) {
+            final int filePawns = BitBoard.count(pawns & FileMasks[file]);
+            if (filePawns > 1) {
+                middlegameScore -= (filePawns - 1) * DoubledMiddlegamePenalty;
+                endgameScore -= (filePawns - 1) * DoubledEndgamePenalty;
+            }
+        }
+        for (long squares = pawns; squares != BitBoard.Empty; squares = BitBoard.clearFirstSquare(squares)) {
+            final int square = BitBoard.firstSquare(squares);
+            if ((pawns & AdjacentFileMasks[square % 8]) == BitBoard.Empty) {
+                middlegameScore -= IsolatedMiddlegamePenalty;
+                endgameScore -= IsolatedEndgamePenalty;
+            }
+            if ((enemyPawns & PassedPawnMasks[alliance.ordinal()][square]) == BitBoard.Empty) {
+                final int rank = alliance.isWhite() ? 7 - square / 8 : square / 8;
+                middlegameScore += PassedMiddlegameBonus[rank];
+                endgameScore += PassedEndgameBonus[rank];
+            }
+        }
+        return pack(middlegameScore, endgameScore);
+    }
+}
@@ -0,0 +1,55 @@
+package com.chess.engine.search;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.board.BitBoard;
+import com.chess.engine.board.Board;
+import com.chess.engine.board.PieceSquareTables;
+import com.chess.engine.board.SearchBoard;
+import com.chess.engine.pieces.Piece;
+
+import java.util.List;
+
+/*
+ * Material plus tapered piece-square tables and pawn structure, from the point
+ * of view of the side to move. A SearchBoard keeps both phase scores up to
+ * date as moves are made, so evaluating a search leaf is a few field reads;
+ * a Board is scored from its pieces. Pawn-structure scores come from a pawn
+ * hash table owned by the calling thread.
+ */
+public class PieceSquareEvaluator implements BoardEvaluator {
+
+    private final ThreadLocal<PawnHashTable> pawnHashTables = ThreadLocal.withInitial(PawnHashTable::new);
+
+    public PawnHashTable getPawnHashTable() {
+        return this.pawnHashTables.get();
+    }
+
+    @Override
+    public int evaluate(final Board board) {
+        int middlegameScore = 0;
+        int endgameScore = 0;
+        int phase = 0;
+        for (final Iterable<Piece> pieces : List.of(board.getWhitePieces(), board.getBlackPieces())) {
+            for (final Piece piece : pieces) {
+                final int pieceIndex = BitBoard.pieceIndex(piece.getPieceAlliance(), piece.getPieceType());
+                middlegameScore += PieceSquareTables.middlegameScore(pieceIndex, piece.getPiecePosition());
+                endgameScore += PieceSquareTables.endgameScore(pieceIndex, piece.getPiecePosition());
+                phase += PieceSquareTables.phase(pieceIndex);
+            }
+        }
+        final int pawnScore = getPawnHashTable().getScore(board.getPawnKey(),
+                board.getPieceBitBoard(Alliance.White, Piece.PieceType.Pawn), board.getPieceBitBoard(Alliance.Black, Piece.PieceType.Pawn));
+        final int whiteScore = PieceSquareTables.taper(middlegameScore + PawnStructure.middlegameScore(pawnScore),
+                endgameScore + PawnStructure.endgameScore(pawnScore), phase);
+        return board.currentPlayer().getAlliance().isWhite() ? whiteScore : -whiteScore;
+    }
+
+    @Override
+    public int evaluate(final SearchBoard board) {
+        final int pawnScore = getPawnHashTable().getScore(board.getPawnKey(),
+                board.getPieceBitBoard(Alliance.White, Piece.PieceType.Pawn), board.getPieceBitBoard(Alliance.Black, Piece.PieceType.Pawn));
+        final int whiteScore = PieceSquareTables.taper(board.getMiddlegameScore() + PawnStructure.middlegameScore(pawnScore),
+                board.getEndgameScore() + PawnStructure.endgameScore(pawnScore), board.getPhase());
+        return board.getSideToMove().isWhite() ? whiteScore : -whiteScore;
+    }
+}
@@ -0,0 +1,71 @@
+package com.chess.engine.search;
+
+public class SearchLimits {
+
+    public static final int MaxSearchDepth = 64;
+
+    private final int maxDepth;
+    private final long timeMillis;
+    private final long maxNodes;
+
+    private SearchLimits(final Builder builder) {
+        this.maxDepth = builder.maxDepth;
+        this.timeMillis = builder.timeMillis;
+        this.maxNodes = builder.maxNodes;
+    }
+
+    public int getMaxDepth() {
+        return this.maxDepth;
+    }
+
+    public long getTimeMillis() {
+        return this.timeMillis;
+    }
+
+    public long getMaxNodes() {
+        return this.maxNodes;
+    }
+
+    public boolean hasTimeLimit() {
+        return this.timeMillis != Long.MAX_VALUE;
+    }
+
+    public static SearchLimits depth(final int maxDepth) {
+        return new Builder().setMaxDepth(maxDepth).build();
+    }
+
+    public static SearchLimits time(final long timeMillis) {
+        return new Builder().setTimeMillis(timeMillis).build();
+    }
+
+    public static class Builder {
+        int maxDepth;
+        long timeMillis;
+        long maxNodes;
+
+        public Builder() {
+            this.maxDepth = MaxSearchDepth;
+            this.timeMillis = Long.MAX_VALUE;
+            this.maxNodes = Long.MAX_VALUE;
+        }
+
+        public Builder setMaxDepth(final int maxDepth) {
+            this.maxDepth = Math.max(1, Math.min(maxDepth, MaxSearchDepth));
+            return this;
+        }
+
+        public Builder setTimeMillis(final long timeMillis) {
+            this.timeMillis = timeMillis;
+            return this;
+        }
+
+        public Builder setMaxNodes(final long maxNodes) {
+            this.maxNodes = maxNodes;
+            return this;
+        }
+
+        public SearchLimits build() {
+            return new SearchLimits(this);
+        }
+    }
+}
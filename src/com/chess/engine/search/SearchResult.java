@@ -0,0 +1,58 @@
+package com.chess.engine.search;
+
+import com.chess.engine.board.Move;
+
+import java.util.List;
+
+public class SearchResult {
+    private final Move bestMove;
+    private final List<Move> principalVariation;
+    private final int score;
+    private final int depth;
+    private final long nodes;
+    private final long elapsedMillis;
+
+    public SearchResult(final Move bestMove, final List<Move> principalVariation, final int score,
+                        final int depth, final long nodes, final long elapsedMillis) {
+        this.bestMove = bestMove;
+        this.principalVariation = principalVariation;
+        this.score = score;
+        this.depth = depth;
+        this.nodes = nodes;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public Move getBestMove() {
+        return this.bestMove;
+    }
+
+    public List<Move> getPrincipalVariation() {
+        return this.principalVariation;
+    }
+
+    public int getScore() {
+        return this.score;
+    }
+
+    public int getDepth() {
+        return this.depth;
+    }
+
+    public long getNodes() {
+        return this.nodes;
+    }
+
+    public long getElapsedMillis() {
+        return this.elapsedMillis;
+    }
+
+    public long getNodesPerSecond() {
+        return this.nodes * 1000 / Math.max(1, this.elapsedMillis);
+    }
+
+    @Override
+    public String toString() {
+        return "depth " + this.depth + " score " + this.score + " nodes " + this.nodes +
+                " nps " + getNodesPerSecond() + " pv " + this.principalVariation;
+    }
+}
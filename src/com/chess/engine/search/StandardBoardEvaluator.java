@@ -0,0 +1,45 @@
+package com.chess.engine.search;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.board.BitBoard;
+import com.chess.engine.board.Board;
+import com.chess.engine.board.SearchBoard;
+import com.chess.engine.pieces.Piece;
+
+/*
+ * Scores a board from the point of view of the side to move.
+ */
+public class StandardBoardEvaluator implements BoardEvaluator {
+
+    @Override
+    public int evaluate(final Board board) {
+        final int whiteScore = materialScore(board.getWhitePieces()) - materialScore(board.getBlackPieces());
+        return board.currentPlayer().getAlliance().isWhite() ? whiteScore : -whiteScore;
+    }
+
+    @Override
+    public int evaluate(final SearchBoard board) {
+        final int whiteScore = materialScore(board, Alliance.White) - materialScore(board, Alliance.Black);
+        return board.getSideToMove().isWhite() ? whiteScore : -whiteScore;
+    }
+
+    private static int materialScore(final SearchBoard board, final Alliance alliance) {
+        int score = 0;
+        for (final Piece.PieceType pieceType : Piece.PieceType.values()) {
+            if (!pieceType.isKing()) {
+                score += BitBoard.count(board.getPieceBitBoard(alliance, pieceType)) * pieceType.getPieceValue();
+            }
+        }
+        return score;
+    }
+
+    private static int materialScore(final Iterable<Piece> pieces) {
+        int score = 0;
+        for (final Piece piece : pieces) {
+            if (!piece.getPieceType().isKing()) {
+                score += piece.getPieceType().getPieceValue();
+            }
+        }
+        return score;
+    }
+}
@@ -0,0 +1,145 @@
+package com.chess.engine.search;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * Fixed-size transposition table shared by every search thread. Each entry is
+ * two longs in one flat array: the position key XOR-ed with the data, then the
+ * data itself. A reader only trusts an entry when XOR-ing the two gives back
+ * its key, so a slot torn by two threads writing at once reads as a miss
+ * instead of as another position's result, and no locking is needed.
+ *
+ * Data layout: bits 0-15 move, 16-31 score, 32-39 depth, 40-41 bound,
+ * 42-49 search age.
+ */
+public class TranspositionTable {
+
+    public static final long NoEntry = 0L;
+
+    public static final int ExactBound = 1;
+    public static final int LowerBound = 2;
+    public static final int UpperBound = 3;
+
+    public static final int MaxDepth = 0xFF;
+
+    private static final int BytesPerEntry = 16;
+
+    private final long[] entries;
+    private final int indexMask;
+    private final LongAdder hits;
+    private final LongAdder misses;
+    private volatile int age;
+
+    public TranspositionTable(final int megabytes) {
+        if (megabytes < 1) {
+            throw new RuntimeException("Transposition table needs at least 1 MB, got " + megabytes);
+        }
+        final long requestedEntries = ((long) megabytes << 20) / BytesPerEntry;
+        final int entryCount = (int) Math.min(Long.highestOneBit(requestedEntries), 1 << 29);
+        this.entries = new long[entryCount * 2];
+        this.indexMask = entryCount - 1;
+        this.hits = new LongAdder();
+        this.misses = new LongAdder();
+        this.age = 0;
+    }
+
+    public int getCapacity() {
+        return this.indexMask + 1;
+    }
+
+    public void newSearch() {
+        this.age = (this.age + 1) & 0xFF;
+    }
+
+    public void clear() {
+        Arrays.fill(this.entries, 0L);
+        this.hits.reset();
+        this.misses.reset();
+        this.age = 0;
+    }
+
+    public long probe(final long key) {
+        final int slot = slot(key);
+        final long data = this.entries[slot + 1];
+        if (data != NoEntry && (this.entries[slot] ^ data) == key) {
+            this.hits.increment();
+            return data;
+        }
+        this.misses.increment();
+        return NoEntry;
+    }
+
+    public void store(final long key, final int move, final int depth, final int bound, final int score) {
+        final int slot = slot(key);
+        final long oldData = this.entries[slot + 1];
+        final boolean samePosition = (this.entries[slot] ^ oldData) == key;
+        if (oldData != NoEntry && !samePosition && entryAge(oldData) == this.age && depth < entryDepth(oldData)) {
+            return;
+        }
+        final int storedMove = (move == 0 && samePosition) ? entryMove(oldData) : move;
+        final long data = (storedMove & 0xFFFFL) |
+                ((score & 0xFFFFL) << 16) |
+                ((long) Math.min(Math.max(depth, 0), MaxDepth) << 32) |
+                ((long) bound << 40) |
+                ((long) this.age << 42);
+        this.entries[slot] = key ^ data;
+        this.entries[slot + 1] = data;
+    }
+
+    public static int entryMove(final long data) {
+        return (int) (data & 0xFFFF);
+    }
+
+    public static int entryScore(final long data) {
+        return (short) (data >>> 16);
+    }
+
+    public static int entryDepth(final long data) {
+        return (int) ((data >>> 32) & 0xFF);
+    }
+
+    public static int entryBound(final long data) {
+        return (int) ((data >>> 40) & 0x3);
+    }
+
+    private static int entryAge(final long data) {
+        return (int) ((data >>> 42) & 0xFF);
+    }
+
+    private int slot(final long key) {
+        return ((int) (key ^ (key >>> 32)) & this.indexMask) << 1;
+    }
+
+    public long getHits() {
+        return this.hits.sum();
+    }
+
+    public long getMisses() {
+        return this.misses.sum();
+    }
+
+    public double getHitRate() {
+        final long hits = getHits();
+        final long probes = hits + getMisses();
+        return probes == 0 ? 0.0 : (double) hits / probes;
+    }
+
+    public int getHashFull() {
+        final int sample = Math.min(1000, getCapacity());
+        int used = 0;
+        for (int i = 0; i < sample; i++) {
+            final long data = this.entries[(i << 1) + 1];
+            if (data != NoEntry && entryAge(data) == this.age) {
+                used++;
+            }
+        }
+        return used * 1000 / sample;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("TT %d entries, hits %d, misses %d, hit rate %.1f%%, full %d/1000",
+                getCapacity(), getHits(), getMisses(), getHitRate() * 100, getHashFull());
+    }
+}